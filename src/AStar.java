@@ -1,103 +1,265 @@
-public class AStar {
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+public class AStar implements Solver {
     // Size of the board (4x4 for 15-puzzle)
-    private final int N = 4;
+    static final int N = 4;
 
     // Limit on the maximum number of moves to avoid infinite loops
-    private final int MAX_MOVES = 1_000_000;
+    static final int MAX_MOVES = 1_000_000;
 
     // Direction vectors for up, down, left, right (blank tile moves)
-    private final int[] dx = {1, -1, 0, 0};
-    private final int[] dy = {0, 0, 1, -1};
+    static final int[] dx = {1, -1, 0, 0};
+    static final int[] dy = {0, 0, 1, -1};
 
     // Corresponding move characters (used for solution path tracking)
-    private final char[] moveChar = {'U', 'D', 'L', 'R'};
+    static final char[] moveChar = {'U', 'D', 'L', 'R'};
+
+    // Initial f range of the bucket queue (the 15-puzzle needs at most 80 moves)
+    static final int MAX_F = 128;
+
+    // Nodes expanded between two checks of the interrupt flag (minus one, used as a mask)
+    static final int INTERRUPT_CHECK_MASK = (1 << 12) - 1;
+
+    // Most nodes a solve may leave in the open list and closed set for their memory to be kept for
+    // the next solve on the thread; after a larger search both are dropped, since clearing them
+    // costs time in proportion to their capacity on every later solve
+    static final int RETAINED_NODES = 1 << 16;
+
+    // Use the f/g bucket queue instead of the binary MinHeap as open list
+    private final boolean useBucketQueue;
+
+    // Heuristic used to estimate the remaining cost of each node
+    private final Heuristic heuristic;
+
+    // Per-thread scratch memory (open list and closed set), reused by every solve on that thread.
+    // Virtual threads run a single solve each (as in BatchSolver), so there it is never reused.
+    private final ThreadLocal<Scratch> scratch;
+
+    // Maximum number of nodes held in the open list and closed set before switching to IDA*
+    private int nodeLimit = Integer.MAX_VALUE;
+
+    // Create an A* solver backed by the binary MinHeap
+    public AStar() {
+        this(false);
+    }
+
+    // Create an A* solver, choosing between the bucket queue and the binary MinHeap
+    public AStar(boolean useBucketQueue) {
+        this(new ManhattanHeuristic(), useBucketQueue);
+    }
+
+    // Create an A* solver with the given heuristic (e.g. a PatternDatabase)
+    public AStar(Heuristic heuristic, boolean useBucketQueue) {
+        this(heuristic, useBucketQueue, false);
+    }
 
-    // Puzzle board state
-    private int[][] board = new int[N][N];
+    /**
+     * Create an A* solver whose MinHeap is replaced, if "duplicateDetection" is set, by an
+     * IndexedMinHeap, which keeps each state in the open list at most once: a child already open
+     * at an equal or lower cost is dropped, a cheaper one lowers the cost of the open node. This
+     * cuts the open list and the stale pops, at the price of one more hash probe per generated
+     * child. No effect with the bucket queue.
+     */
+    public AStar(Heuristic heuristic, boolean useBucketQueue, boolean duplicateDetection) {
+        this.heuristic = heuristic;
+        this.useBucketQueue = useBucketQueue;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(useBucketQueue, duplicateDetection));
+    }
 
-    // Position of the blank tile
-    private int blankRow = 0;
-    private int blankColumn = 0;
+    /**
+     * Bound the memory of each solve: once the open list and closed set together hold more than
+     * "nodeLimit" nodes (roughly 100 bytes each), the search continues with IDA* from the open
+     * nodes, so memory stays bounded and the solution stays optimal. Configure before sharing.
+     */
+    public AStar setNodeLimit(int nodeLimit) {
+        if (nodeLimit < 1) {
+            throw new IllegalArgumentException("Node limit must be positive: " + nodeLimit);
+        }
+        this.nodeLimit = nodeLimit;
+        return this;
+    }
 
     // Main method to solve the puzzle using A* search algorithm
-    public String solve(int[][] puzzle) {
-        // Create a deep copy of the puzzle to avoid modifying input
-        board = Helper.deepCopy(puzzle);
+    public SolveResult search(int[][] puzzle) {
+        long startTime = System.nanoTime();
 
-        // Get the initial blank tile position
-        int[] blankPosition = Helper.getBlankPosition(board);
-        blankRow = blankPosition[0];
-        blankColumn = blankPosition[1];
+        // Validate input
+        if (!Helper.isValid(puzzle)) {
+            return new SolveResult(Helper.INVALID_PUZZLE_MESSAGE, 0, 0, System.nanoTime() - startTime);
+        }
 
-        // Priority queue for open nodes (min-heap based on f-cost)
-        MinHeap open = new MinHeap(10);
+        // Pack the puzzle into a single long (the input array is never modified)
+        long start = PackedBoard.pack(puzzle);
 
-        // Hash set to track visited states (closed set)
-        HashSet closed = new HashSet(10);
+        // Check for solvable
+        if (!Helper.isSolvable(puzzle)) {
+            return new SolveResult(Helper.UNSOLVABLE_MESSAGE, start, 0, System.nanoTime() - startTime);
+        }
+
+        // Get the initial blank tile position
+        int blank = PackedBoard.blankPosition(start);
+
+        // Open list (ordered by f-cost) and closed set (best cost g at which each packed state
+        // has been expanded), both taken from this thread's scratch memory
+        Scratch memory = scratch.get();
+        OpenList open = memory.open;
+        LongIntHashMap closed = memory.closed;
 
         // Initialize the start node and insert into open list
-        Node start = new Node(board, blankRow, blankColumn, "", 0, -1);
-        open.insert(start);
+        open.insert(new Node(start, blank / N, blank % N, null, 0, heuristic.estimate(start), -1));
 
+        int expanded = 0;
+        int held = 0;
         try {
             // A* search loop
             while (!open.isEmpty()) {
+                // Give up when the calling thread is interrupted (e.g. by a BatchSolver timeout)
+                if ((++expanded & INTERRUPT_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Search interrupted");
+                }
+
+                // Out of memory budget: finish the search depth-first from the frontier
+                held = Math.max(held, open.size() + closed.size());
+                if (held > nodeLimit) {
+                    return searchFrontier(open, closed, start, expanded, startTime);
+                }
+
                 // Get the node with lowest priority (f-cost)
                 Node current = open.remove();
 
-                // If current state is goal, return the path taken
-                if (Helper.isGoalV2(current.board)) {
-                    board = Helper.testSolution(board, current.path); // Final board state
-                    return current.path; // Return move sequence
+                // If current state is goal, rebuild and return the path taken
+                if (PackedBoard.isGoal(current.board)) {
+                    return new SolveResult(buildPath(current), current.board, expanded, System.nanoTime() - startTime);
                 }
 
-                // Generate hash and skip if already visited
-                var hash = Helper.hash(current.board);
-                if (closed.contains(hash)) continue;
-                closed.add(hash);
-
-                // Explore all 4 directions (U, D, L, R)
-                for (int direction = 0; direction < 4; direction++) {
-                    // Skip reverse direction (to avoid going back to parent state)
-                    if (current.previousDirection != -1 && (direction ^ 1) == current.previousDirection) continue;
+                // Skip if already expanded at an equal or lower cost, otherwise (re)open it
+                if (closed.get(current.board, Integer.MAX_VALUE) <= current.cost) continue;
+                closed.put(current.board, current.cost);
 
-                    int newRow = current.blankRow + dx[direction];
-                    int newCol = current.blankColumn + dy[direction];
+                // Explore the legal moves of the blank, except the one returning to the parent state
+                int blankCell = current.blankRow * N + current.blankColumn;
+                for (int move : BlankMoves.of(blankCell, current.previousDirection)) {
+                    int direction = BlankMoves.direction(move);
+                    int targetCell = BlankMoves.target(move);
 
-                    // Skip out-of-bounds moves
-                    if (newRow < 0 || newRow >= N || newCol < 0 || newCol >= N) continue;
+                    // Skip moves completing a sequence that has a strictly shorter equivalent
+                    int pruningState = MovePruning.shorter().next(current.pruningState, direction);
+                    if (pruningState < 0) continue;
 
                     // Increment path cost
                     int newCost = current.cost + 1;
                     if (newCost > MAX_MOVES) continue;
 
-                    // Create a new state by swapping blank with target tile
-                    int[][] newGrid = Helper.deepCopy(current.board);
-                    Helper.swap(newGrid, current.blankRow, current.blankColumn, newRow, newCol);
+                    // Create a new state by sliding the target tile into the blank
+                    long newGrid = PackedBoard.move(current.board, blankCell, targetCell);
 
-                    // Append move character to path
-                    String newPath = current.path + moveChar[direction];
+                    // Duplicate detection: drop children already expanded at an equal or lower cost
+                    if (closed.get(newGrid, Integer.MAX_VALUE) <= newCost) continue;
 
-                    // Create new node and calculate its priority
-                    Node neighbor = new Node(newGrid, newRow, newCol, newPath, newCost, direction);
+                    // Create new node linked to its parent and calculate its priority
+                    int estimate = heuristic.update(current.board, newGrid, current.priority - current.cost,
+                            PackedBoard.get(current.board, targetCell), targetCell, blankCell);
+                    Node neighbor = new Node(newGrid, targetCell / N, targetCell % N, current, newCost, estimate,
+                            direction);
+                    neighbor.pruningState = pruningState;
                     if (neighbor.priority > MAX_MOVES) continue;
 
-                    // Insert into open list
+                    // Insert into open list (an IndexedMinHeap drops it, or lowers the cost of the open
+                    // copy, if the state is already open)
                     open.insert(neighbor);
                 }
             }
-        } catch (Exception e) {
-            // Print any unexpected errors during search
-            System.out.println(e.getMessage());
-            System.out.println(e.getStackTrace());
+        } finally {
+            // Release the nodes; keep the capacity for the next solve on this thread unless the
+            // search outgrew RETAINED_NODES, in which case the next solve starts from small tables
+            if (held > RETAINED_NODES) {
+                scratch.remove();
+            } else {
+                open.clear();
+                closed.clear();
+            }
         }
 
         // If no solution is found after exhausting all options
-        return "No solution";
+        return new SolveResult("No solution", start, expanded, System.nanoTime() - startTime);
+    }
+
+    // Continue with IDA* from every open node. The open list always holds a node of an optimal
+    // path at its optimal cost, so deepening the threshold over all open nodes remains optimal.
+    private SolveResult searchFrontier(OpenList open, LongIntHashMap closed, long start, long expanded,
+                                       long startTime) {
+        // Drain the open list in f order, dropping copies of states already expanded more cheaply
+        List<Node> frontier = new ArrayList<>(open.size());
+        while (!open.isEmpty()) {
+            Node node = open.remove();
+            if (closed.get(node.board, Integer.MAX_VALUE) > node.cost) {
+                frontier.add(node);
+            }
+        }
+        closed.clear();
+
+        IDAStar.Search search = new IDAStar.Search(heuristic, 0, 0, null);
+        int threshold = frontier.isEmpty() ? Integer.MAX_VALUE : frontier.get(0).priority;
+        while (threshold != Integer.MAX_VALUE) {
+            int next = Integer.MAX_VALUE;
+            for (Node node : frontier) {
+                // The frontier is sorted by f, so the remaining nodes all exceed the threshold
+                if (node.priority > threshold) {
+                    next = Math.min(next, node.priority);
+                    break;
+                }
+
+                // Each subtree counts its nodes from zero and may stay below the interrupt check
+                // interval, so check the flag here as well
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Search interrupted");
+                }
+
+                search.reset(node.board, threshold);
+                int t = search.dfs(node.blankRow * N + node.blankColumn, node.cost, node.previousDirection,
+                        MovePruning.START, node.priority - node.cost);
+                expanded += search.nodes;
+
+                if (search.solution != null) {
+                    return new SolveResult(buildPath(node) + search.solution, search.board, expanded,
+                            System.nanoTime() - startTime);
+                }
+                next = Math.min(next, t);
+            }
+            threshold = next;
+        }
+
+        return new SolveResult("No solution", start, expanded, System.nanoTime() - startTime);
     }
 
-    // Return the final board state after solving
-    public int[][] getBoard() {
-        return board;
+    // Rebuild the move sequence by following parent links back to the start node
+    static String buildPath(Node node) {
+        char[] path = new char[node.cost];
+        for (Node n = node; n.parent != null; n = n.parent) {
+            path[n.cost - 1] = moveChar[n.previousDirection];
+        }
+
+        return new String(path);
+    }
+
+    // Slots of this thread's closed set, kept for its next solve (for tests)
+    int retainedCapacity() {
+        return scratch.get().closed.capacity();
+    }
+
+    // Open list and closed set of one thread, cleared after every solve
+    private static class Scratch {
+        final OpenList open;
+        final LongIntHashMap closed = new LongIntHashMap(1 << 10);
+
+        Scratch(boolean useBucketQueue, boolean duplicateDetection) {
+            if (useBucketQueue) {
+                open = new BucketQueue(MAX_F);
+            } else {
+                open = duplicateDetection ? new IndexedMinHeap(10) : new MinHeap(10);
+            }
+        }
     }
 }
\ No newline at end of file
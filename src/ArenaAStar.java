@@ -0,0 +1,153 @@
+import java.util.concurrent.CancellationException;
+
+/**
+ * A* over a NodeArena: nodes live in flat primitive columns (on the heap or off-heap) and the
+ * open list holds their int indices, so each generated state costs about 24 bytes (20 in the
+ * arena, 4 in the open list) plus its closed-set entry, with no per-node object for the garbage
+ * collector. Meant for searches too large for AStar's Node objects; the search itself (bucket
+ * queue order, duplicate detection, move pruning) is the same, so it finds the same solutions.
+ *
+ * Every thread keeps its arena between solves, up to "retainedBytes" (DEFAULT_RETAINED_BYTES
+ * unless given); chunks past it are dropped after each solve. With many short-lived threads (e.g.
+ * BatchSolver's virtual threads) pass 0, and call release() on a pooled thread that is done solving.
+ */
+public class ArenaAStar implements Solver {
+    // Highest cost a node can store in the arena
+    private static final int MAX_COST = Short.MAX_VALUE;
+
+    // Arena memory kept by each thread between solves (about 3 million nodes)
+    public static final long DEFAULT_RETAINED_BYTES = 64L << 20;
+
+    private final Heuristic heuristic;          // Admissible estimate of the remaining cost
+    private final ThreadLocal<Scratch> scratch; // Per-thread arena, open list and closed set, reused
+    private final long retainedBytes;           // Arena memory kept by a thread after a solve
+
+    // Create an arena-backed A* solver using Manhattan distance and on-heap chunks
+    public ArenaAStar() {
+        this(new ManhattanHeuristic(), false);
+    }
+
+    // Create an arena-backed A* solver with the given heuristic, storing nodes off-heap if requested
+    public ArenaAStar(Heuristic heuristic, boolean offHeap) {
+        this(heuristic, offHeap, DEFAULT_RETAINED_BYTES);
+    }
+
+    // Create an arena-backed A* solver keeping at most "retainedBytes" of arena per thread between solves
+    public ArenaAStar(Heuristic heuristic, boolean offHeap, long retainedBytes) {
+        if (retainedBytes < 0) {
+            throw new IllegalArgumentException("Retained bytes must not be negative: " + retainedBytes);
+        }
+        this.heuristic = heuristic;
+        this.retainedBytes = retainedBytes;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(offHeap));
+    }
+
+    /**
+     * Drop the calling thread's arena, open list and closed set; its next solve allocates new ones.
+     * Off-heap chunks are returned to the system once the garbage collector reclaims them.
+     */
+    public void release() {
+        scratch.remove();
+    }
+
+    // Solve the puzzle with A*, keeping every node in this thread's arena
+    public SolveResult search(int[][] puzzle) {
+        long startTime = System.nanoTime();
+
+        // Validate input
+        if (!Helper.isValid(puzzle)) {
+            return new SolveResult(Helper.INVALID_PUZZLE_MESSAGE, 0, 0, System.nanoTime() - startTime);
+        }
+
+        long start = PackedBoard.pack(puzzle);
+
+        // Check for solvable
+        if (!Helper.isSolvable(puzzle)) {
+            return new SolveResult(Helper.UNSOLVABLE_MESSAGE, start, 0, System.nanoTime() - startTime);
+        }
+
+        Scratch memory = scratch.get();
+        NodeArena nodes = memory.nodes;
+        IntBucketQueue open = memory.open;
+        LongIntHashMap closed = memory.closed;
+        MovePruning pruning = MovePruning.shorter();
+
+        int h = heuristic.estimate(start);
+        open.insert(nodes.add(start, -1, 0, h, PackedBoard.blankPosition(start), -1, MovePruning.START), h, 0);
+
+        long expanded = 0;
+        try {
+            while (!open.isEmpty()) {
+                // Give up when the calling thread is interrupted (e.g. by a BatchSolver timeout)
+                if ((++expanded & AStar.INTERRUPT_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Search interrupted");
+                }
+
+                int current = open.remove();
+                long board = nodes.board(current);
+                int cost = nodes.cost(current);
+
+                if (PackedBoard.isGoal(board)) {
+                    return new SolveResult(buildPath(nodes, current), board, expanded,
+                            System.nanoTime() - startTime);
+                }
+
+                // Skip if already expanded at an equal or lower cost, otherwise (re)open it
+                if (closed.get(board, Integer.MAX_VALUE) <= cost) continue;
+                closed.put(board, cost);
+
+                int blank = nodes.blank(current);
+                int estimate = nodes.estimate(current);
+                int state = nodes.pruningState(current);
+                int newCost = cost + 1;
+                if (newCost > MAX_COST) continue;
+
+                for (int move : BlankMoves.of(blank, nodes.direction(current))) {
+                    int direction = BlankMoves.direction(move);
+                    int target = BlankMoves.target(move);
+
+                    // Skip moves completing a sequence that has a strictly shorter equivalent
+                    int nextState = pruning.next(state, direction);
+                    if (nextState < 0) continue;
+
+                    // Duplicate detection: drop children already expanded at an equal or lower cost
+                    long child = PackedBoard.move(board, blank, target);
+                    if (closed.get(child, Integer.MAX_VALUE) <= newCost) continue;
+
+                    int childH = heuristic.update(board, child, estimate, PackedBoard.get(board, target),
+                            target, blank);
+                    int index = nodes.add(child, current, newCost, childH, target, direction, nextState);
+                    open.insert(index, newCost + childH, newCost);
+                }
+            }
+        } finally {
+            // Forget the nodes but keep the buckets and up to retainedBytes of chunks for the next solve
+            nodes.release(retainedBytes);
+            open.clear();
+            closed.clear();
+        }
+
+        return new SolveResult("No solution", start, expanded, System.nanoTime() - startTime);
+    }
+
+    // Rebuild the move sequence by following parent indices back to the root
+    private static String buildPath(NodeArena nodes, int node) {
+        char[] path = new char[nodes.cost(node)];
+        for (int n = node; nodes.parent(n) != -1; n = nodes.parent(n)) {
+            path[nodes.cost(n) - 1] = AStar.moveChar[nodes.direction(n)];
+        }
+
+        return new String(path);
+    }
+
+    // Arena, open list and closed set of one thread, cleared after every solve
+    private static class Scratch {
+        final NodeArena nodes;
+        final IntBucketQueue open = new IntBucketQueue(AStar.MAX_F);
+        final LongIntHashMap closed = new LongIntHashMap(1 << 10);
+
+        Scratch(boolean offHeap) {
+            nodes = new NodeArena(offHeap);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Solves batches of independent puzzles concurrently.
+ * At most "parallelism" puzzles are solved at a time by one shared, thread-safe solver.
+ * Puzzles run on a fixed thread pool, or on virtual threads when requested and supported by
+ * the running JVM. Solvers pool their scratch memory per thread, so a virtual thread (which runs a
+ * single puzzle) allocates it afresh; use the fixed pool to reuse it across puzzles.
+ * A puzzle that exceeds the timeout has its thread interrupted; the solvers check the flag
+ * and give up, and the puzzle is reported as TIMED_OUT.
+ *
+ * Results are available as futures (submit) or as a stream in completion order (solveAll).
+ */
+public class BatchSolver implements AutoCloseable {
+    // Outcome of one puzzle
+    public enum Status { SOLVED, INVALID, TIMED_OUT, FAILED }
+
+    private final Solver solver;                   // Shared by all puzzles (solvers are thread-safe)
+    private final long timeoutNanos;               // Time allowed per puzzle (0 = no limit)
+    private final ExecutorService executor;        // Threads running the puzzles
+    private final Semaphore permits;               // Bounds the puzzles solved at a time
+    private final ScheduledExecutorService timer;  // Interrupts puzzles that run out of time
+
+    // Create a batch solver using all cores, platform threads and no timeout
+    public BatchSolver(Solver solver) {
+        this(solver, Runtime.getRuntime().availableProcessors(), false, 0, TimeUnit.MILLISECONDS);
+    }
+
+    // Create a batch solver with the given parallelism, thread kind and per-puzzle timeout (0 = none)
+    public BatchSolver(Solver solver, int parallelism, boolean virtualThreads,
+                       long timeout, TimeUnit unit) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.solver = solver;
+        this.timeoutNanos = unit.toNanos(timeout);
+        this.permits = new Semaphore(parallelism);
+
+        ExecutorService virtual = virtualThreads ? newVirtualThreadExecutor() : null;
+        this.executor = virtual != null ? virtual : Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "batch-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "batch-solver-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Check whether the running JVM provides virtual threads (Java 21 and later)
+     */
+    public static boolean isVirtualThreadsSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Solve one puzzle asynchronously; the result has index -1
+     */
+    public CompletableFuture<Result> submit(int[][] puzzle) {
+        return submit(-1, puzzle);
+    }
+
+    /**
+     * Solve all puzzles concurrently; the stream yields each result as soon as it is ready,
+     * so the order is the completion order (use Result.getIndex to match the input order)
+     */
+    public Stream<Result> solveAll(Collection<int[][]> puzzles) {
+        BlockingQueue<Result> completed = new LinkedBlockingQueue<>();
+        List<CompletableFuture<Result>> futures = new ArrayList<>(puzzles.size());
+        int index = 0;
+        for (int[][] puzzle : puzzles) {
+            futures.add(submit(index++, puzzle).whenComplete((result, e) -> completed.add(result)));
+        }
+
+        return Stream.generate(() -> {
+            try {
+                return completed.take();
+            } catch (InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for results");
+            }
+        }).limit(futures.size());
+    }
+
+    // Stop accepting puzzles and interrupt those still running
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    // Run one puzzle on the executor; failures (including a closed executor) are reported in the
+    // result, never thrown, so every future completes normally
+    private CompletableFuture<Result> submit(int index, int[][] puzzle) {
+        try {
+            return CompletableFuture.supplyAsync(() -> solve(index, puzzle), executor)
+                    .exceptionally(e -> new Result(index, puzzle, Status.FAILED, null, 0,
+                            e instanceof CompletionException && e.getCause() != null ? e.getCause() : e));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(new Result(index, puzzle, Status.FAILED, null, 0, e));
+        }
+    }
+
+    // Solve a puzzle on the current thread within the permits and the timeout
+    private Result solve(int index, int[][] puzzle) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Result(index, puzzle, Status.FAILED, null, 0, e);
+        }
+
+        long start = System.nanoTime();
+        Watchdog watchdog = timeoutNanos > 0 ? new Watchdog(Thread.currentThread()) : null;
+        try {
+            if (watchdog != null) {
+                watchdog.schedule(timer, timeoutNanos);
+            }
+
+            String moves = solver.solve(puzzle);
+            Status status = moves.equals(Helper.INVALID_PUZZLE_MESSAGE) || moves.equals(Helper.UNSOLVABLE_MESSAGE)
+                    ? Status.INVALID : Status.SOLVED;
+            return new Result(index, puzzle, status, moves, System.nanoTime() - start, null);
+        } catch (CancellationException e) {
+            Status status = watchdog != null && watchdog.fired ? Status.TIMED_OUT : Status.FAILED;
+            return new Result(index, puzzle, status, null, System.nanoTime() - start, e);
+        } catch (Throwable e) {
+            return new Result(index, puzzle, Status.FAILED, null, System.nanoTime() - start, e);
+        } finally {
+            if (watchdog != null && watchdog.disarm()) {
+                // The timeout fired: clear its interrupt so the pooled thread can be reused
+                Thread.interrupted();
+            }
+            permits.release();
+        }
+    }
+
+    // Create a virtual-thread-per-task executor through reflection, or null if unavailable
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    // Interrupts a solving thread when its time is up, unless the solve finished first
+    private static class Watchdog {
+        private final Thread thread;
+        private ScheduledFuture<?> task;
+        private boolean done;
+        private volatile boolean fired;
+
+        Watchdog(Thread thread) {
+            this.thread = thread;
+        }
+
+        void schedule(ScheduledExecutorService timer, long delayNanos) {
+            task = timer.schedule(this::fire, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private synchronized void fire() {
+            if (!done) {
+                fired = true;
+                thread.interrupt();
+            }
+        }
+
+        // Prevent any later interrupt; returns true if the timeout has already fired
+        synchronized boolean disarm() {
+            done = true;
+            if (task != null) {
+                task.cancel(false);
+            }
+            return fired;
+        }
+    }
+
+    /**
+     * Immutable outcome of one puzzle of a batch
+     */
+    public static final class Result {
+        private final int index;
+        private final int[][] puzzle;
+        private final Status status;
+        private final String moves;
+        private final long elapsedNanos;
+        private final Throwable error;
+
+        Result(int index, int[][] puzzle, Status status, String moves, long elapsedNanos, Throwable error) {
+            this.index = index;
+            this.puzzle = puzzle;
+            this.status = status;
+            this.moves = moves;
+            this.elapsedNanos = elapsedNanos;
+            this.error = error;
+        }
+
+        // Position of the puzzle in the batch (-1 for single submissions)
+        public int getIndex() {
+            return index;
+        }
+
+        // The puzzle as submitted
+        public int[][] getPuzzle() {
+            return puzzle;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        // Move sequence (or the solver's message for INVALID), null if the puzzle was not solved
+        public String getMoves() {
+            return moves;
+        }
+
+        // Time spent solving, excluding the wait for a permit
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        // Cause of a TIMED_OUT or FAILED result, otherwise null
+        public Throwable getError() {
+            return error;
+        }
+    }
+}
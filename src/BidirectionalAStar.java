@@ -0,0 +1,178 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Bidirectional A* that meets in the middle (MM, Holte et al. 2016).
+ * One search runs forward from the start towards the goal, the other backward from the goal
+ * towards the start, each with its own open list, node list and heuristic (Manhattan distance
+ * to the goal forwards, to the start backwards). Nodes are ordered by max(f, 2g), so neither
+ * search expands a node beyond the middle of an optimal path; every state generated by both
+ * searches yields a candidate solution, and the search stops as soon as the best candidate
+ * costs no more than the smallest priority left in either open list, which keeps it optimal.
+ */
+public class BidirectionalAStar implements Solver {
+    private static final int N = AStar.N;
+
+    // Heuristic towards the goal used by the forward search (null = Manhattan distance)
+    private final Heuristic forwardHeuristic;
+
+    // Create a bidirectional solver using Manhattan distance in both directions
+    public BidirectionalAStar() {
+        this(null);
+    }
+
+    // Create a bidirectional solver with the given goal heuristic for the forward search (e.g. a PatternDatabase)
+    public BidirectionalAStar(Heuristic forwardHeuristic) {
+        this.forwardHeuristic = forwardHeuristic;
+    }
+
+    // Public method to solve a given 15-puzzle by bidirectional search
+    public SolveResult search(int[][] puzzle) {
+        long startTime = System.nanoTime();
+
+        // Validate input
+        if (!Helper.isValid(puzzle)) {
+            return new SolveResult(Helper.INVALID_PUZZLE_MESSAGE, 0, 0, System.nanoTime() - startTime);
+        }
+
+        long start = PackedBoard.pack(puzzle);
+
+        // Check for solvable
+        if (!Helper.isSolvable(puzzle)) {
+            return new SolveResult(Helper.UNSOLVABLE_MESSAGE, start, 0, System.nanoTime() - startTime);
+        }
+
+        Frontier forward = new Frontier(start, forwardHeuristic != null ? forwardHeuristic : new ManhattanHeuristic());
+        Frontier backward = new Frontier(PackedBoard.GOAL, new ManhattanHeuristic(start));
+
+        // Best solution found so far: its cost and the meeting node of each search
+        int best = start == PackedBoard.GOAL ? 0 : Integer.MAX_VALUE;
+        Node meetForward = forward.nodes.get(0);
+        Node meetBackward = backward.nodes.get(0);
+
+        long expanded = 0;
+        while (true) {
+            Node nextForward = forward.head();
+            Node nextBackward = backward.head();
+            if (nextForward == null || nextBackward == null) break;
+
+            // Stop once no open node can lead to a cheaper solution
+            int lowest = Math.min(nextForward.priority, nextBackward.priority);
+            if (best <= lowest) break;
+
+            // Expand the direction with the lower priority (ties: the smaller open list)
+            boolean isForward = nextForward.priority < nextBackward.priority
+                    || (nextForward.priority == nextBackward.priority && forward.open.size() <= backward.open.size());
+            Frontier current = isForward ? forward : backward;
+            Frontier other = isForward ? backward : forward;
+            Node node = current.pop();
+
+            // Give up when the calling thread is interrupted (e.g. by a BatchSolver timeout)
+            if ((++expanded & AStar.INTERRUPT_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Search interrupted");
+            }
+
+            int blankCell = node.blankRow * N + node.blankColumn;
+            int h = current.heuristic.estimate(node.board);
+            for (int direction = 0; direction < 4; direction++) {
+                // Skip the move that would undo the previous one
+                if (node.previousDirection != -1 && (direction ^ 1) == node.previousDirection) continue;
+
+                int newRow = node.blankRow + AStar.dx[direction];
+                int newColumn = node.blankColumn + AStar.dy[direction];
+                if (newRow < 0 || newRow >= N || newColumn < 0 || newColumn >= N) continue;
+
+                int targetCell = newRow * N + newColumn;
+                long child = PackedBoard.move(node.board, blankCell, targetCell);
+                int childH = current.heuristic.update(node.board, child, h,
+                        PackedBoard.get(node.board, targetCell), targetCell, blankCell);
+                int cost = node.cost + 1;
+
+                // A child whose f reaches the best solution cannot improve it
+                if (cost + childH >= best) continue;
+
+                // Priority max(f, 2g): the node's estimate is raised to at least its cost
+                Node next = new Node(child, newRow, newColumn, node, cost, Math.max(childH, cost), direction);
+                if (!current.add(next)) continue;
+
+                // Reached by the other search too: a candidate solution through this state
+                Node match = other.get(child);
+                if (match != null && cost + match.cost < best) {
+                    best = cost + match.cost;
+                    meetForward = isForward ? next : match;
+                    meetBackward = isForward ? match : next;
+                }
+            }
+        }
+
+        if (best == Integer.MAX_VALUE) {
+            return new SolveResult("No solution", start, expanded, System.nanoTime() - startTime);
+        }
+        return new SolveResult(buildPath(meetForward, meetBackward), PackedBoard.GOAL, expanded,
+                System.nanoTime() - startTime);
+    }
+
+    // Moves from the start to the meeting state, followed by the backward moves undone in reverse order
+    private static String buildPath(Node meetForward, Node meetBackward) {
+        StringBuilder path = new StringBuilder(AStar.buildPath(meetForward));
+        for (Node n = meetBackward; n.parent != null; n = n.parent) {
+            path.append(AStar.moveChar[n.previousDirection ^ 1]);
+        }
+
+        return path.toString();
+    }
+
+    // One direction of the search: open list, every node generated, and an index of the best node per state
+    private static class Frontier {
+        final Heuristic heuristic;
+        final BucketQueue open = new BucketQueue(AStar.MAX_F);
+        final List<Node> nodes = new ArrayList<>();
+        final LongIntHashMap index = new LongIntHashMap(1 << 10);
+
+        // Next node to expand, already taken off the open list (null if none is known)
+        private Node head;
+
+        Frontier(long root, Heuristic heuristic) {
+            this.heuristic = heuristic;
+            int blank = PackedBoard.blankPosition(root);
+            add(new Node(root, blank / N, blank % N, null, 0, heuristic.estimate(root), -1));
+        }
+
+        // Cheapest node generated for a state (open or expanded), or null
+        Node get(long state) {
+            int i = index.get(state, -1);
+            return i < 0 ? null : nodes.get(i);
+        }
+
+        // Record a node unless its state was already reached at an equal or lower cost
+        boolean add(Node node) {
+            Node known = get(node.board);
+            if (known != null && known.cost <= node.cost) return false;
+
+            index.put(node.board, nodes.size());
+            nodes.add(node);
+            open.insert(node);
+            return true;
+        }
+
+        // Lowest priority node still worth expanding, skipping copies superseded by a cheaper one
+        Node head() {
+            while (head == null && !open.isEmpty()) {
+                Node node = open.remove();
+                if (get(node.board) == node) {
+                    head = node;
+                }
+            }
+
+            return head;
+        }
+
+        // Take the node returned by head()
+        Node pop() {
+            Node node = head();
+            head = null;
+            return node;
+        }
+    }
+}
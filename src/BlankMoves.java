@@ -0,0 +1,60 @@
+import java.util.Arrays;
+
+/**
+ * Precomputed blank moves of the 4x4 board.
+ * For every blank position and previous move, the legal moves that do not undo the previous one
+ * are listed in direction order, each encoded as (target position << 2) | direction. Generating
+ * children is then a loop over an already-legal list, with no bounds checks and no reversal test.
+ *
+ * Directions are the blank moves used by the solvers: 0 = row + 1, 1 = row - 1, 2 = column + 1,
+ * 3 = column - 1 (see AStar.dx and AStar.dy).
+ */
+public final class BlankMoves {
+    private static final int N = PackedBoard.N;
+
+    // MOVES[blank * 5 + previousDirection + 1]: encoded moves (previousDirection -1 = none)
+    private static final int[][] MOVES = build();
+
+    private BlankMoves() {
+    }
+
+    /**
+     * Legal moves of the blank at "blank" that do not undo "previousDirection" (-1 = no previous move)
+     */
+    public static int[] of(int blank, int previousDirection) {
+        return MOVES[blank * 5 + previousDirection + 1];
+    }
+
+    // Direction of an encoded move
+    public static int direction(int move) {
+        return move & 3;
+    }
+
+    // Position the blank moves to
+    public static int target(int move) {
+        return move >>> 2;
+    }
+
+    // Enumerate the moves of every blank position and previous direction
+    private static int[][] build() {
+        int[][] moves = new int[PackedBoard.SIZE * 5][];
+        int[] buffer = new int[4];
+        for (int blank = 0; blank < PackedBoard.SIZE; blank++) {
+            for (int previousDirection = -1; previousDirection < 4; previousDirection++) {
+                int count = 0;
+                for (int direction = 0; direction < 4; direction++) {
+                    if (previousDirection != -1 && (direction ^ 1) == previousDirection) continue;
+
+                    int row = blank / N + AStar.dx[direction];
+                    int column = blank % N + AStar.dy[direction];
+                    if (row < 0 || row >= N || column < 0 || column >= N) continue;
+
+                    buffer[count++] = ((row * N + column) << 2) | direction;
+                }
+                moves[blank * 5 + previousDirection + 1] = Arrays.copyOf(buffer, count);
+            }
+        }
+
+        return moves;
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Open list for small integer f-costs: one bucket per f value, each split into
+ * sub-buckets by g. Insertion is O(1) and pop-min is amortised O(1).
+ * Ties on f are broken towards the largest g (deepest node) and then LIFO,
+ * so the last f-layer is searched depth-first and the goal is reached early.
+ */
+public class BucketQueue implements OpenList {
+    // Initial number of nodes each (f, g) stack can hold
+    private static final int INITIAL_STACK_SIZE = 16;
+
+    // buckets[f][g] is a stack of nodes with that f and g
+    private Node[][][] buckets;
+
+    // counts[f][g] is the number of nodes in buckets[f][g]
+    private int[][] counts;
+
+    // Number of nodes per f value
+    private int[] sizeOfF;
+
+    // Highest g that may be non-empty for each f value
+    private int[] maxG;
+
+    // Lowest f that may be non-empty
+    private int minF;
+
+    // Total number of nodes in the queue
+    private int size;
+
+    // Constructor to initialize the queue for f values up to "maxF" (it grows if needed)
+    public BucketQueue(int maxF) {
+        int capacity = Math.max(maxF, 1) + 1;
+        buckets = new Node[capacity][][];
+        counts = new int[capacity][];
+        sizeOfF = new int[capacity];
+        maxG = new int[capacity];
+        minF = capacity;
+        size = 0;
+    }
+
+    // Insert a node into the bucket for its f and g
+    public void insert(Node node) {
+        int f = node.priority;
+        int g = node.cost;
+        if (f >= sizeOfF.length) growF(f);
+        if (buckets[f] == null || g >= buckets[f].length) growG(f, g);
+
+        Node[] stack = buckets[f][g];
+        int count = counts[f][g];
+        if (stack == null) {
+            stack = buckets[f][g] = new Node[INITIAL_STACK_SIZE];
+        } else if (count == stack.length) {
+            stack = buckets[f][g] = java.util.Arrays.copyOf(stack, count * 2);
+        }
+
+        stack[count] = node;
+        counts[f][g] = count + 1;
+        sizeOfF[f]++;
+        size++;
+
+        if (f < minF) minF = f;
+        if (g > maxG[f]) maxG[f] = g;
+    }
+
+    // Remove and return a node with the lowest f (largest g among ties, last in first out)
+    public Node remove() {
+        if (size == 0) throw new IllegalStateException("Open list is empty");
+
+        // Skip empty f buckets; minF only moves back when a lower f is inserted
+        while (sizeOfF[minF] == 0) minF++;
+
+        int f = minF;
+        int g = maxG[f];
+        while (counts[f][g] == 0) g--;
+        maxG[f] = g;
+
+        int count = --counts[f][g];
+        Node top = buckets[f][g][count];
+        buckets[f][g][count] = null; // Help GC by nullifying removed slot
+        sizeOfF[f]--;
+        size--;
+        return top;
+    }
+
+    // Check if the queue is empty
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Number of nodes in the queue
+    public int size() {
+        return size;
+    }
+
+    // Remove every node; the buckets keep their capacity
+    public void clear() {
+        for (int f = 0; f < sizeOfF.length && size > 0; f++) {
+            if (sizeOfF[f] == 0) continue;
+            for (int g = 0; g <= maxG[f]; g++) {
+                if (counts[f][g] == 0) continue;
+                java.util.Arrays.fill(buckets[f][g], 0, counts[f][g], null);
+                size -= counts[f][g];
+                counts[f][g] = 0;
+            }
+            sizeOfF[f] = 0;
+        }
+        java.util.Arrays.fill(maxG, 0);
+        minF = sizeOfF.length;
+        size = 0;
+    }
+
+    // Make room for f values up to "f"
+    private void growF(int f) {
+        int capacity = Math.max(f + 1, sizeOfF.length * 2);
+        buckets = java.util.Arrays.copyOf(buckets, capacity);
+        counts = java.util.Arrays.copyOf(counts, capacity);
+        sizeOfF = java.util.Arrays.copyOf(sizeOfF, capacity);
+        maxG = java.util.Arrays.copyOf(maxG, capacity);
+        if (size == 0) minF = capacity;
+    }
+
+    // Make room for g values up to "g" in the bucket for "f"
+    private void growG(int f, int g) {
+        int capacity = Math.max(g + 1, f + 1);
+        if (buckets[f] != null) capacity = Math.max(capacity, buckets[f].length * 2);
+        buckets[f] = buckets[f] == null ? new Node[capacity][] : java.util.Arrays.copyOf(buckets[f], capacity);
+        counts[f] = counts[f] == null ? new int[capacity] : java.util.Arrays.copyOf(counts[f], capacity);
+    }
+}
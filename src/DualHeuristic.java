@@ -0,0 +1,44 @@
+/**
+ * Several lookups of one heuristic for the same board, combined with max.
+ * A board, its mirror image in the main diagonal and, when the blank is in its goal cell, its
+ * dual (inverse permutation) all need the same number of moves, so the base heuristic of each is
+ * admissible for the board. Tables built for one partition (e.g. the asymmetric 6-6-3 pattern
+ * database) give different values for the three, and the maximum is markedly stronger.
+ *
+ * Dual lookups make the heuristic inconsistent: a move can lower it by more than one. IDA*
+ * tolerates that, and exploits it with bidirectional pathmax (IDAStar.setBpmx).
+ */
+public class DualHeuristic implements Heuristic {
+    private final Heuristic base;     // Heuristic looked up for every variant of the board
+    private final boolean reflect;    // Also look up the diagonal mirror image
+    private final boolean dual;       // Also look up the dual when the blank is in its goal cell
+
+    // Combine the regular, reflected and dual lookups of "base"
+    public DualHeuristic(Heuristic base) {
+        this(base, true, true);
+    }
+
+    // Combine the regular lookup of "base" with the selected extra lookups
+    public DualHeuristic(Heuristic base, boolean reflect, boolean dual) {
+        this.base = base;
+        this.reflect = reflect;
+        this.dual = dual;
+    }
+
+    // Largest estimate over the lookups (the dual ones only with the blank in its goal cell)
+    public int estimate(long board) {
+        int h = base.estimate(board);
+        if (reflect) {
+            h = Math.max(h, base.estimate(PackedBoard.reflect(board)));
+        }
+        if (dual && PackedBoard.get(board, PackedBoard.SIZE - 1) == 0) {
+            long inverse = PackedBoard.dual(board);
+            h = Math.max(h, base.estimate(inverse));
+            if (reflect) {
+                h = Math.max(h, base.estimate(PackedBoard.reflect(inverse)));
+            }
+        }
+
+        return h;
+    }
+}
@@ -175,6 +175,13 @@ public class Helper {
         return distance;
     }
 
+    /**
+     * Calculate the total Manhattan distance of a packed board
+     */
+    public static int manhattan(long board) {
+        return PackedBoard.manhattan(board);
+    }
+
     /**
      * Calculate Manhattan distance for a single tile from its goal position
      */
@@ -256,6 +263,40 @@ public class Helper {
         return testBoard;
     }
 
+    /**
+     * Simulate applying a solution string to a packed board and return the final packed board
+     */
+    public static long testSolution(long board, String solution) {
+        int blank = PackedBoard.blankPosition(board);
+
+        for (int i = 0; i < solution.length(); i++) {
+            int target;
+
+            // Apply the corresponding move to blank
+            switch (solution.charAt(i)) {
+                case 'U':
+                    target = blank + PackedBoard.N;
+                    break;
+                case 'D':
+                    target = blank - PackedBoard.N;
+                    break;
+                case 'L':
+                    target = blank + 1;
+                    break;
+                case 'R':
+                    target = blank - 1;
+                    break;
+                default:
+                    throw new RuntimeException("Invalid move");
+            }
+
+            board = PackedBoard.move(board, blank, target);
+            blank = target;
+        }
+
+        return board;
+    }
+
     /**
      * Generate a unique hash string representation of the board
      */
@@ -0,0 +1,17 @@
+/**
+ * Admissible estimate of the number of moves needed to reach the goal from a packed board.
+ * Implementations are shared by AStar and IDAStar and must be safe to call from several threads.
+ */
+public interface Heuristic {
+    // Estimated number of moves from the packed board to the goal (never overestimates)
+    int estimate(long board);
+
+    /**
+     * Estimate for "child", obtained from "parent" (whose estimate is h) by sliding "tile" from
+     * position "from" into the blank at position "to". Must return exactly estimate(child);
+     * implementations override it to update h from the few tiles or lines the move touches.
+     */
+    default int update(long parent, long child, int h, int tile, int from, int to) {
+        return estimate(child);
+    }
+}
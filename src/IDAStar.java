@@ -1,58 +1,173 @@
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * IDA* (Iterative Deepening A*) solver implementation for the 15-puzzle
  */
-public class IDAStar {
-    private final int N = 4; // Board size: 4x4 for the 15-puzzle
-    private final int MAX_MOVES = 1_000_000; // Upper limit to avoid infinite paths
-
-    // Directions for blank (0) movement: down, up, right, left
-    private final int[] dx = {1, -1, 0, 0};  // Vertical movement
-    private final int[] dy = {0, 0, 1, -1};  // Horizontal movement
-    private final char[] moveChar = {'U', 'D', 'L', 'R'};  // Corresponding move chars (tile moves)
-
-    private int[][] board = new int[N][N]; // Current puzzle board
-    private int threshold;                 // Current threshold for IDA*
-    private String solution;               // Stores the final solution path
-    private StringBuilder path;            // Current path being explored
-    private int blankRow = 0;              // Blank tile row
-    private int blankColumn = 0;           // Blank tile column
+public class IDAStar implements Solver {
+    static final int N = 4; // Board size: 4x4 for the 15-puzzle
+    static final int MAX_MOVES = 1_000_000; // Upper limit to avoid infinite paths
+
+    // Blank directions: down, up, right, left (legal moves are listed by BlankMoves)
+    static final char[] moveChar = {'U', 'D', 'L', 'R'};  // Corresponding move chars (tile moves)
+
+    // Order in which the children of a node are searched
+    public enum Ordering {
+        // Blank moves in direction order (down, up, right, left)
+        FIXED,
+        // Lowest child estimate first, ties in direction order
+        HEURISTIC,
+        // Moves that led closest to a solution from the same blank position in earlier iterations
+        // first, ties broken by the child estimate
+        HISTORY
+    }
+
+    // Default slack from which the transposition table is used (see setTranspositionTable)
+    public static final int DEFAULT_TABLE_MIN_SLACK = 4;
+
+    private final Heuristic heuristic;     // Admissible estimate of the remaining cost
+    private final ThreadLocal<Search> scratch;  // Per-thread search state (board, path buffer), reused
+
+    // Memory and replacement policy of each thread's transposition table (0 bytes = no table)
+    private volatile long tableBytes;
+    private volatile TranspositionTable.Policy tablePolicy = TranspositionTable.Policy.DEPTH_PREFERRED;
+
+    // Slack (threshold - f) a node needs for the table to be probed and updated
+    private volatile int tableMinSlack = DEFAULT_TABLE_MIN_SLACK;
+
+    // Search with an explicit stack of frames instead of recursion
+    private volatile boolean iterative;
+
+    // Exact distances of the states near the goal (null = none)
+    private volatile PerimeterDatabase perimeter;
+
+    // Propagate estimates between neighbours with bidirectional pathmax
+    private volatile boolean bpmx;
+
+    // Order of the children of each node
+    private volatile Ordering ordering = Ordering.FIXED;
+
+    // Create an IDA* solver using the Manhattan distance heuristic
+    public IDAStar() {
+        this(new ManhattanHeuristic());
+    }
+
+    // Create an IDA* solver with the given heuristic (e.g. a PatternDatabase)
+    public IDAStar(Heuristic heuristic) {
+        this.heuristic = heuristic;
+        this.scratch = ThreadLocal.withInitial(() -> new Search(heuristic, 0, 0, null));
+    }
+
+    /**
+     * Give every solving thread a transposition table of "bytes" bytes, so states reached again
+     * at the same or a higher cost are not searched twice and failed subtrees raise the bound of
+     * their root. Takes effect from the next solve; each thread allocates its own table then, so
+     * the budget is per thread: N solving threads hold N * "bytes", and a virtual thread (one
+     * solve each) allocates a fresh table for every puzzle.
+     */
+    public IDAStar setTranspositionTable(long bytes, TranspositionTable.Policy policy) {
+        return setTranspositionTable(bytes, policy, DEFAULT_TABLE_MIN_SLACK);
+    }
+
+    /**
+     * Like setTranspositionTable(bytes, policy), using the table only at nodes whose slack
+     * (threshold - cost - h, the depth left beyond the estimate) is at least "minSlack". The
+     * subtree of a node grows with its slack, not with threshold - cost (which is at least h, so
+     * large almost everywhere): small subtrees are cheaper to search again than to probe, and
+     * storing them would evict more valuable entries.
+     */
+    public IDAStar setTranspositionTable(long bytes, TranspositionTable.Policy policy, int minSlack) {
+        if (minSlack < 0) {
+            throw new IllegalArgumentException("Minimum slack must not be negative: " + minSlack);
+        }
+        this.tableBytes = bytes;
+        this.tablePolicy = policy;
+        this.tableMinSlack = minSlack;
+        return this;
+    }
+
+    /**
+     * Choose between the recursive depth-first search (default) and the iterative one, which keeps
+     * its frames in preallocated arrays and cannot overflow the thread stack. Both expand the same
+     * nodes in the same order. Takes effect from the next solve.
+     */
+    public IDAStar setIterative(boolean iterative) {
+        this.iterative = iterative;
+        return this;
+    }
+
+    /**
+     * Stop every branch that reaches a state of the perimeter database and complete it with the
+     * stored optimal path; states outside the perimeter get at least its depth + 1 as estimate.
+     * The database can be shared by any number of solvers. Takes effect from the next solve.
+     */
+    public IDAStar setPerimeter(PerimeterDatabase perimeter) {
+        this.perimeter = perimeter;
+        return this;
+    }
+
+    /**
+     * Lift every node's estimate to its children's estimates minus one before searching them, and
+     * pass the lifted value minus one down to each child (bidirectional pathmax). Moves can be
+     * undone, so both bounds stay admissible; they only pay off with an inconsistent heuristic
+     * such as DualHeuristic, whose drops of more than one between neighbours they smooth out.
+     * Takes effect from the next solve.
+     */
+    public IDAStar setBpmx(boolean bpmx) {
+        this.bpmx = bpmx;
+        return this;
+    }
+
+    /**
+     * Choose the order in which children are searched. It cannot change the solution length or the
+     * nodes of the iterations that fail, but the last iteration stops at the first solution, so
+     * trying the promising children first ends it early. HEURISTIC and HISTORY estimate every child
+     * before searching any. Takes effect from the next solve.
+     */
+    public IDAStar setOrdering(Ordering ordering) {
+        this.ordering = ordering;
+        return this;
+    }
 
     // Public method to solve a given 15-puzzle using IDA*
-    public String solve(int[][] puzzle) {
+    public SolveResult search(int[][] puzzle) {
+        long startTime = System.nanoTime();
+
         // Validate input
         if (!Helper.isValid(puzzle)) {
-            return Helper.INVALID_PUZZLE_MESSAGE;
+            return new SolveResult(Helper.INVALID_PUZZLE_MESSAGE, 0, 0, System.nanoTime() - startTime);
         }
 
+        // Pack the input puzzle (the original array is never modified)
+        long start = PackedBoard.pack(puzzle);
+
         // Check for solvable
         if (!Helper.isSolvable(puzzle)) {
-            return Helper.UNSOLVABLE_MESSAGE;
+            return new SolveResult(Helper.UNSOLVABLE_MESSAGE, start, 0, System.nanoTime() - startTime);
         }
 
-        // Deep copy input puzzle to avoid modifying the original
-        board = Helper.deepCopy(puzzle);
-
-        // Initialize heuristic threshold using Manhattan distance
-        threshold = Helper.manhattan(board);
-
-        path = new StringBuilder();  // Reset path
-        solution = null;             // Reset solution
+        int blank = PackedBoard.blankPosition(start);
+        int h = heuristic.estimate(start);
 
-        // Get initial blank position
-        int[] blankPosition = Helper.getBlankPosition(board);
-        blankRow = blankPosition[0];
-        blankColumn = blankPosition[1];
+        // Initialize threshold with the heuristic estimate of the start board
+        Search search = scratch.get();
+        configure(search);
+        search.reset(start, h);
 
         // Iteratively deepen the search using DFS until a solution is found or deemed unsolvable
         while (true) {
-            int t = dfs(blankRow, blankColumn, 0, -1); // Start DFS with cost 0 and no previous direction
+            // Start DFS with cost 0, no previous direction and no move history
+            int t = iterative
+                    ? search.dfsIterative(blank, 0, -1, MovePruning.START, h)
+                    : search.dfs(blank, 0, -1, MovePruning.START, h);
 
             // Solution found
-            if (solution != null) {
-                if (solution.length() > MAX_MOVES) {
+            if (search.solution != null) {
+                if (search.solution.length() > MAX_MOVES) {
                     throw new RuntimeException("Solution exceeds maximum allowed moves");
                 }
-                return solution;
+                // Every solution ends at the goal (a perimeter hit stops the search before reaching it)
+                return new SolveResult(search.solution, PackedBoard.GOAL, search.nodes, System.nanoTime() - startTime);
             }
 
             // No more paths to explore
@@ -60,72 +175,494 @@ public class IDAStar {
                 throw new RuntimeException("Unsolvable puzzle");
             }
 
-            // Increase threshold and continue
-            threshold = t;
+            // Increase threshold and continue (a transposition cut may report a bound below it)
+            search.threshold = Math.max(t, search.threshold + 1);
+            if (search.table != null) {
+                search.table.nextIteration();
+            }
+        }
+    }
+
+    // Bring this thread's search state in line with the current configuration. The settings are
+    // volatile and read at the start of every solve, so a solver shared between threads can be
+    // reconfigured at any time and every thread picks the change up with its next solve
+    private void configure(Search search) {
+        long bytes = tableBytes;
+        TranspositionTable.Policy policy = tablePolicy;
+        if (bytes != search.tableBytes || policy != search.tablePolicy) {
+            search.table = bytes > 0 ? new TranspositionTable(bytes, policy) : null;
+            search.tableBytes = bytes;
+            search.tablePolicy = policy;
         }
+        search.tableMinSlack = tableMinSlack;
+        search.perimeter = perimeter;
+        search.bpmx = bpmx;
+        search.ordering = ordering;
     }
 
-    // Recursive depth-first search with cost-limited pruning based on threshold
-    private int dfs(int blankRow, int blankColumn, int cost, int previousDirection) {
-        // Calculate f(n) = g(n) + h(n)
-        int f = cost + Helper.manhattan(board);
+    /**
+     * State of one depth-first search: the board being mutated, the current threshold and path.
+     * IDAStar keeps one per thread and resets it for every solve; ParallelIDAStar uses one per
+     * frontier subtree.
+     */
+    static class Search {
+        // Marks a frame that must be expanded (never a search result, which is -1 or at least 0)
+        private static final int EXPAND = Integer.MIN_VALUE;
+
+        final Heuristic heuristic;     // Admissible estimate of the remaining cost
+        final AtomicBoolean stop;      // Set when another search has found the solution (or null)
+        long board;                    // Current puzzle board, packed 4 bits per tile
+        int threshold;                 // Current threshold for IDA*
+        final StringBuilder path;      // Current path being explored
+        String solution;               // Stores the final solution path
+        long nodes;                    // Nodes expanded (also spaces out interrupt checks)
+        TranspositionTable table;      // Optional memory of searched states (or null)
+        long tableBytes;               // Memory the table was allocated with (0 = no table)
+        TranspositionTable.Policy tablePolicy;  // Policy the table was allocated with
+        int tableMinSlack;             // Slack below which the table is not used
+        PerimeterDatabase perimeter;   // Optional exact distances near the goal (or null)
+        final int[] lowerBounds = new int[256];  // Raised heuristic of each node on the current path, by cost
+        boolean bpmx;                  // Bidirectional pathmax between parents and children
+        final int[] childEstimates = new int[4 * 256];  // Children's heuristic values, by cost and move index
+        int inherited;                 // Estimate passed down by the parent for the next dfs call
+        Ordering ordering = Ordering.FIXED;  // Order of the children of each node
+        final int[] order = new int[4 * 256];  // Move indices in search order, by cost
+        final long[] history = new long[PackedBoard.SIZE * 4];  // Score of each move, by blank position and direction
+        final MovePruning pruning = MovePruning.all();  // Automaton of redundant move sequences
+        Frames frames = new Frames(64);  // Explicit stack of dfsIterative, grown when a search goes deeper
 
-        // Prune paths exceeding the current threshold
-        if (f > threshold) {
-            return f;
+        Search(Heuristic heuristic, long board, int threshold, AtomicBoolean stop) {
+            this.heuristic = heuristic;
+            this.board = board;
+            this.threshold = threshold;
+            this.stop = stop;
+            this.path = new StringBuilder();
         }
 
-        // Goal state check
-        if (Helper.isGoalV2(board)) {
-            solution = path.toString();  // Record solution
-            return -1;                   // Signal found
+        // Prepare for a new solve from "board", keeping the path buffer's capacity
+        void reset(long board, int threshold) {
+            this.board = board;
+            this.threshold = threshold;
+            this.path.setLength(0);
+            this.solution = null;
+            this.nodes = 0;
+            this.inherited = 0;
+            java.util.Arrays.fill(history, 0);
+            if (table != null) {
+                table.newSearch();
+            }
+        }
+
+        // Recursive depth-first search with cost-limited pruning based on threshold.
+        // h is the heuristic value of the current board, updated incrementally by the caller;
+        // state is the move pruning automaton's state after the moves leading here.
+        // Returns -1 if a solution was found (here or, when sharing a stop flag, elsewhere)
+        int dfs(int blank, int cost, int previousDirection, int state, int h) {
+            // Inside the perimeter the estimate is exact (and a solution within the threshold is
+            // complete), outside it is at least the perimeter's depth + 1
+            int estimate = perimeter != null ? perimeterEstimate(cost, h) : h;
+            if (estimate < 0) return -1;
+
+            // Bidirectional pathmax: the parent's estimate minus one also bounds this board
+            estimate = Math.max(estimate, inherited);
+            inherited = 0;
+
+            // Calculate f(n) = g(n) + h(n)
+            int f = cost + estimate;
+
+            // Prune paths exceeding the current threshold
+            if (f > threshold) {
+                return f;
+            }
+
+            // Goal state check
+            if (PackedBoard.isGoal(board)) {
+                solution = path.toString();  // Record solution
+                return -1;                   // Signal found
+            }
+
+            // Another subtree already holds the (optimal) solution: abandon this one
+            if (stop != null && stop.get()) {
+                return -1;
+            }
+
+            // Give up when the calling thread is interrupted (e.g. by a BatchSolver timeout)
+            if ((++nodes & AStar.INTERRUPT_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Search interrupted");
+            }
+
+            // Transposition table: cut states already searched at a lower cost (or at the same cost in
+            // this iteration), and raise h to the bound learned when the state's subtree last failed.
+            // Only for subtrees with enough slack (threshold - f) to be worth a probe
+            int bound = estimate;
+            boolean useTable = table != null && cost < lowerBounds.length && threshold - f >= tableMinSlack;
+            if (useTable) {
+                int slot = table.find(board);
+                if (slot >= 0) {
+                    bound = Math.max(estimate, table.bound(slot));
+                    int seen = table.cost(slot);
+                    if (seen < cost || (seen == cost && table.isCurrent(slot)) || cost + bound > threshold) {
+                        return cost + bound;
+                    }
+                }
+            }
+            // Children storing a learned bound cap it with this one, even where the table is skipped
+            if (table != null && cost < lowerBounds.length) lowerBounds[cost] = bound;
+
+            // Estimate the children first (keeping their values) to sort them, or for bidirectional
+            // pathmax: every child's estimate minus one also bounds this board, which cuts the node if
+            // that lifts it over the threshold
+            int[] moves = BlankMoves.of(blank, previousDirection);
+            boolean lookahead = (bpmx || ordering != Ordering.FIXED) && cost < lowerBounds.length;
+            boolean ordered = lookahead && ordering != Ordering.FIXED;
+            if (lookahead) {
+                int raised = lookahead(blank, cost, h, moves, bound);
+                if (ordered) orderChildren(blank, cost, moves);
+                if (bpmx) {
+                    bound = raised;
+                    if (cost + bound > threshold) return cost + bound;
+                    if (table != null) lowerBounds[cost] = bound;
+                }
+            }
+
+            // Tracks the minimum f value beyond current threshold, and the move leading to it
+            int min = Integer.MAX_VALUE;
+            int best = -1;
+
+            // Lowest 1 + h among children cut by move pruning (they cap the bound learned for the table)
+            int skipped = Integer.MAX_VALUE;
+
+            // Explore the legal moves of the blank, except the one undoing the previous move
+            for (int k = 0; k < moves.length; k++) {
+                int i = ordered ? order[cost * 4 + k] : k;
+                int direction = BlankMoves.direction(moves[i]);
+                int target = BlankMoves.target(moves[i]);
+
+                // Skip moves completing a redundant sequence (a single table lookup)
+                int nextState = pruning.next(state, direction);
+                if (nextState < 0 && !useTable) continue;
+
+                // Slide the tile into the blank to apply the move (the parent board is kept for backtracking)
+                long parent = board;
+                board = PackedBoard.move(parent, blank, target);
+
+                // Update the heuristic from the single tile that moved (or reuse the lookahead's value)
+                int childH = lookahead ? childEstimates[cost * 4 + i]
+                        : heuristic.update(parent, board, h, PackedBoard.get(parent, target), target, blank);
+
+                if (nextState < 0) {
+                    skipped = Math.min(skipped, 1 + childH);
+                    board = parent;
+                    continue;
+                }
+
+                // Record move character (e.g., 'L', 'R')
+                path.append(moveChar[direction]);
+
+                // Recurse deeper
+                if (bpmx) inherited = bound - 1;
+                int t = dfs(target, cost + 1, direction, nextState, childH);
+
+                // If solution found, propagate signal
+                if (t == -1) return -1;
+
+                // Track the lowest threshold overrun
+                if (t < min) {
+                    min = t;
+                    best = direction;
+                }
+
+                // Undo move (backtrack)
+                path.setLength(path.length() - 1);
+                board = parent;
+            }
+
+            // Credit the move that came closest to a solution, the more the higher up the tree
+            if (ordering == Ordering.HISTORY && best >= 0) {
+                history[blank * 4 + best] += threshold - cost;
+            }
+
+            // Remember that the subtree needs more than "min"; the move back to the parent and the
+            // pruned moves were not tried here, so the bound is also capped by the paths through them
+            if (useTable) {
+                int learned = min == Integer.MAX_VALUE ? 0xFF : min - cost;
+                if (cost > 0) learned = Math.min(learned, 1 + lowerBounds[cost - 1]);
+                learned = Math.min(learned, skipped);
+                table.store(board, cost, Math.max(bound, learned));
+            }
+
+            // Return the minimum cost overrun
+            return min;
         }
 
-        // Tracks the minimum f value beyond current threshold
-        int min = Integer.MAX_VALUE;
+        // Same search as dfs, with an explicit stack instead of recursion. The frame being searched
+        // lives in local variables; it is saved on the stack when a child is pushed and restored when
+        // the child is done, so nothing is allocated per node and the loop stays in one compiled method.
+        int dfsIterative(int blank, int cost, int previousDirection, int state, int h) {
+            Frames stack = frames;
+            int depth = 0;
+            int[] moves;
+            int next, min, best, skipped, bound;
+            boolean useTable, lookahead, ordered;
+            int inherited = 0;
 
-        // Explore all four directions
-        for (int direction = 0; direction < N; direction++) {
-            // Skip reversing the previous move (e.g., U after D)
-            if (previousDirection != -1 && (direction ^ 1) == previousDirection) continue;
+            while (true) {
+                // Enter the node: threshold, goal and transposition table checks, as dfs does first
+                int result = EXPAND;
+                int estimate = perimeter != null ? perimeterEstimate(cost, h) : h;
+                if (estimate >= 0) {
+                    estimate = Math.max(estimate, inherited);
+                    inherited = 0;
+                }
+                if (estimate < 0) {
+                    return -1;
+                } else if (cost + estimate > threshold) {
+                    result = cost + estimate;
+                } else if (PackedBoard.isGoal(board)) {
+                    solution = path.toString();
+                    return -1;
+                } else if (stop != null && stop.get()) {
+                    return -1;
+                } else if ((++nodes & AStar.INTERRUPT_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Search interrupted");
+                }
 
-            // Calculate new blank position
-            int newRow = blankRow + dx[direction];
-            int newColumn = blankColumn + dy[direction];
+                bound = estimate;
+                useTable = result == EXPAND && table != null && cost < lowerBounds.length
+                        && threshold - cost - estimate >= tableMinSlack;
+                if (useTable) {
+                    int slot = table.find(board);
+                    if (slot >= 0) {
+                        bound = Math.max(estimate, table.bound(slot));
+                        int seen = table.cost(slot);
+                        if (seen < cost || (seen == cost && table.isCurrent(slot)) || cost + bound > threshold) {
+                            result = cost + bound;
+                            useTable = false;
+                        }
+                    }
+                }
+                if (result == EXPAND && table != null && cost < lowerBounds.length) lowerBounds[cost] = bound;
+                moves = BlankMoves.of(blank, previousDirection);
+                lookahead = result == EXPAND && (bpmx || ordering != Ordering.FIXED) && cost < lowerBounds.length;
+                ordered = lookahead && ordering != Ordering.FIXED;
+                if (lookahead) {
+                    int raised = lookahead(blank, cost, h, moves, bound);
+                    if (ordered) orderChildren(blank, cost, moves);
+                    if (bpmx) {
+                        bound = raised;
+                        if (cost + bound > threshold) {
+                            result = cost + bound;
+                            useTable = false;
+                        } else if (table != null) {
+                            lowerBounds[cost] = bound;
+                        }
+                    }
+                }
+                next = 0;
+                min = Integer.MAX_VALUE;
+                best = -1;
+                skipped = Integer.MAX_VALUE;
 
-            // Ignore out-of-bound moves
-            if (newRow < 0 || newRow >= N || newColumn < 0 || newColumn >= N) continue;
+                // Try the children of the frame until one is pushed, popping the frames that are done
+                while (true) {
+                    if (result == EXPAND) {
+                        if (next < moves.length) {
+                            int i = ordered ? order[cost * 4 + next] : next;
+                            int move = moves[i];
+                            next++;
+                            int direction = BlankMoves.direction(move);
+                            int target = BlankMoves.target(move);
 
-            // Swap blank and tile to apply the move
-            Helper.swap(board, blankRow, blankColumn, newRow, newColumn);
-            this.blankRow = newRow;
-            this.blankColumn = newColumn;
+                            // Skip moves completing a redundant sequence (a single table lookup)
+                            int nextState = pruning.next(state, direction);
+                            if (nextState < 0 && !useTable) continue;
 
-            // Record move character (e.g., 'L', 'R')
-            path.append(moveChar[direction]);
+                            long parent = board;
+                            board = PackedBoard.move(parent, blank, target);
+                            int childH = lookahead ? childEstimates[cost * 4 + i]
+                                    : heuristic.update(parent, board, h, PackedBoard.get(parent, target), target, blank);
 
-            // Recurse deeper
-            int t = dfs(newRow, newColumn, cost + 1, direction);
+                            if (nextState < 0) {
+                                skipped = Math.min(skipped, 1 + childH);
+                                board = parent;
+                                continue;
+                            }
 
-            // If solution found, propagate signal
-            if (t == -1) return -1;
+                            // Save the frame and make the child the current one
+                            if (depth + 1 == stack.blank.length) {
+                                stack = frames = stack.grow();
+                            }
+                            stack.save(depth, blank, previousDirection, state, h, next, min, best, skipped, bound,
+                                    useTable);
+                            depth++;
+                            if (bpmx) inherited = bound - 1;
+                            stack.parentBoard[depth] = parent;
+                            path.append(moveChar[direction]);
+                            blank = target;
+                            previousDirection = direction;
+                            state = nextState;
+                            h = childH;
+                            cost++;
+                            break;
+                        }
 
-            // Track the lowest threshold overrun
-            if (t < min) min = t;
+                        // All children tried: credit the best move and store the learned bound, as dfs
+                        // does after its loop
+                        if (ordering == Ordering.HISTORY && best >= 0) {
+                            history[blank * 4 + best] += threshold - cost;
+                        }
+                        if (useTable) {
+                            int learned = min == Integer.MAX_VALUE ? 0xFF : min - cost;
+                            if (cost > 0) learned = Math.min(learned, 1 + lowerBounds[cost - 1]);
+                            learned = Math.min(learned, skipped);
+                            table.store(board, cost, Math.max(bound, learned));
+                        }
+                        result = min;
+                    }
 
-            // Undo move (backtrack)
-            path.setLength(path.length() - 1);
-            Helper.swap(board, newRow, newColumn, blankRow, blankColumn);
-            this.blankRow = blankRow;
-            this.blankColumn = blankColumn;
+                    // The frame is done: return its result to the parent frame
+                    if (depth == 0) return result;
+                    board = stack.parentBoard[depth];
+                    path.setLength(path.length() - 1);
+                    int childDirection = previousDirection;
+                    depth--;
+                    cost--;
+                    blank = stack.blank[depth];
+                    previousDirection = stack.previousDirection[depth];
+                    moves = BlankMoves.of(blank, previousDirection);
+                    state = stack.state[depth];
+                    h = stack.h[depth];
+                    next = stack.next[depth];
+                    min = stack.min[depth];
+                    best = stack.best[depth];
+                    if (result < min) {
+                        min = result;
+                        best = childDirection;
+                    }
+                    skipped = stack.skipped[depth];
+                    bound = stack.bound[depth];
+                    useTable = stack.useTable[depth];
+                    lookahead = (bpmx || ordering != Ordering.FIXED) && cost < lowerBounds.length;
+                    ordered = lookahead && ordering != Ordering.FIXED;
+                    result = EXPAND;
+                }
+            }
+        }
+
+        // Estimate every child of the current board into childEstimates (indexed by cost and move
+        // index) and return "bound" raised to the largest child estimate minus one
+        private int lookahead(int blank, int cost, int h, int[] moves, int bound) {
+            for (int i = 0; i < moves.length; i++) {
+                int target = BlankMoves.target(moves[i]);
+                long child = PackedBoard.move(board, blank, target);
+                int childH = heuristic.update(board, child, h, PackedBoard.get(board, target), target, blank);
+                childEstimates[cost * 4 + i] = childH;
+                bound = Math.max(bound, childH - 1);
+            }
+            return bound;
+        }
+
+        // Sort the move indices of the current board into order (at cost * 4), as chosen by "ordering".
+        // Insertion sort with a strict comparison, so ties keep the direction order
+        private void orderChildren(int blank, int cost, int[] moves) {
+            int base = cost * 4;
+            for (int i = 0; i < moves.length; i++) {
+                int j = i;
+                while (j > 0 && before(blank, base, moves, i, order[base + j - 1])) {
+                    order[base + j] = order[base + j - 1];
+                    j--;
+                }
+                order[base + j] = i;
+            }
         }
 
-        // Return the minimum cost overrun
-        return min;
+        // Whether move index "a" is searched before move index "b"
+        private boolean before(int blank, int base, int[] moves, int a, int b) {
+            if (ordering == Ordering.HISTORY) {
+                long scoreA = history[blank * 4 + BlankMoves.direction(moves[a])];
+                long scoreB = history[blank * 4 + BlankMoves.direction(moves[b])];
+                if (scoreA != scoreB) return scoreA > scoreB;
+            }
+            return childEstimates[base + a] < childEstimates[base + b];
+        }
+
+        // Estimate of the current board raised by the perimeter database, or -1 if the board lies
+        // inside the perimeter within the threshold, in which case the solution is recorded
+        private int perimeterEstimate(int cost, int h) {
+            // h is admissible, so a board estimated beyond the perimeter cannot be inside it
+            if (h > perimeter.depth()) return h;
+
+            int distance = perimeter.distance(board);
+            if (distance < 0) return Math.max(h, perimeter.outsideBound(board));
+            if (cost + distance <= threshold) {
+                solution = path + perimeter.path(board);
+                return -1;
+            }
+            return distance;
+        }
     }
 
-    // Getter for the final board after solving
-    public int[][] getBoard() {
-        return board;
+    /**
+     * Stack of dfsIterative as parallel arrays, one entry per depth below the search root
+     */
+    static final class Frames {
+        final int[] blank;              // Blank position
+        final int[] previousDirection;  // Move that led here (-1 at the root)
+        final int[] state;              // Move pruning automaton state
+        final int[] h;                  // Heuristic value of the board
+        final int[] next;               // Index of the next move to try in BlankMoves.of(...)
+        final int[] min;                // Lowest threshold overrun among the children so far
+        final int[] best;               // Direction of the move leading to it (-1 if none)
+        final int[] skipped;            // Lowest 1 + h among children cut by move pruning
+        final int[] bound;              // h raised by the transposition table
+        final boolean[] useTable;       // Whether the frame reads and writes the table
+        final long[] parentBoard;       // Board of the parent frame, restored when the frame is popped
+
+        Frames(int capacity) {
+            blank = new int[capacity];
+            previousDirection = new int[capacity];
+            state = new int[capacity];
+            h = new int[capacity];
+            next = new int[capacity];
+            min = new int[capacity];
+            best = new int[capacity];
+            skipped = new int[capacity];
+            bound = new int[capacity];
+            useTable = new boolean[capacity];
+            parentBoard = new long[capacity];
+        }
+
+        // Save the frame at "depth" before searching one of its children
+        void save(int depth, int blank, int previousDirection, int state, int h, int next, int min, int best,
+                  int skipped, int bound, boolean useTable) {
+            this.blank[depth] = blank;
+            this.previousDirection[depth] = previousDirection;
+            this.state[depth] = state;
+            this.h[depth] = h;
+            this.next[depth] = next;
+            this.min[depth] = min;
+            this.best[depth] = best;
+            this.skipped[depth] = skipped;
+            this.bound[depth] = bound;
+            this.useTable[depth] = useTable;
+        }
+
+        // Copy of the stack with twice the capacity
+        Frames grow() {
+            Frames frames = new Frames(blank.length * 2);
+            int size = blank.length;
+            System.arraycopy(blank, 0, frames.blank, 0, size);
+            System.arraycopy(previousDirection, 0, frames.previousDirection, 0, size);
+            System.arraycopy(state, 0, frames.state, 0, size);
+            System.arraycopy(h, 0, frames.h, 0, size);
+            System.arraycopy(next, 0, frames.next, 0, size);
+            System.arraycopy(min, 0, frames.min, 0, size);
+            System.arraycopy(best, 0, frames.best, 0, size);
+            System.arraycopy(skipped, 0, frames.skipped, 0, size);
+            System.arraycopy(bound, 0, frames.bound, 0, size);
+            System.arraycopy(useTable, 0, frames.useTable, 0, size);
+            System.arraycopy(parentBoard, 0, frames.parentBoard, 0, size);
+            return frames;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,177 @@
+/**
+ * Binary min-heap of nodes that can find the open node of any state.
+ * A hash index from packed board to node catches duplicates as they are inserted: a node whose
+ * state is already open at an equal or lower cost is dropped, and a cheaper one replaces the
+ * open node in place (decrease-key). The heap therefore holds each state at most once, instead
+ * of piling up stale copies that are only discarded when popped.
+ *
+ * Every node records its own heap slot, so moving a node in the heap is a field write and the
+ * index is only touched once per insert and once per remove.
+ */
+public class IndexedMinHeap implements OpenList {
+    // Maximum fill ratio of the index before it is doubled
+    private static final double LOAD_FACTOR = 0.5;
+
+    // Array-based binary heap of nodes ordered by priority
+    private Node[] heap;
+
+    // Current number of nodes in the heap
+    private int size;
+
+    // Open-addressing index of the open nodes: boards and their nodes (null marks an empty slot)
+    private long[] keys;
+    private Node[] index;
+
+    // Nodes dropped or used for a decrease-key since the last clear (for statistics)
+    private long duplicates;
+
+    // Constructor to initialize the heap with the given initial capacity
+    public IndexedMinHeap(int capacity) {
+        heap = new Node[Math.max(capacity, 1)];
+        allocateIndex(LongHashSet.tableSizeFor((int) (Math.max(capacity, 1) / LOAD_FACTOR)));
+    }
+
+    // Insert a node, or update the open node of the same state if the new one is cheaper
+    public void insert(Node node) {
+        int position = find(node.board);
+        Node open = index[position];
+        if (open != null) {
+            duplicates++;
+            if (open.cost <= node.cost) return;
+
+            // Decrease-key: same state, lower cost, so the node can only move up
+            index[position] = node;
+            heap[open.heapSlot] = node;
+            siftUp(open.heapSlot);
+            return;
+        }
+
+        keys[position] = node.board;
+        index[position] = node;
+        if (size == heap.length) heap = java.util.Arrays.copyOf(heap, size * 2);
+        heap[size] = node;
+        siftUp(size++);
+        if (size > index.length * LOAD_FACTOR) resizeIndex();
+    }
+
+    // Remove and return the node with the smallest priority
+    public Node remove() {
+        if (size == 0) throw new IllegalStateException("Open list is empty");
+
+        Node top = heap[0];
+        closeGap(find(top.board));
+        Node last = heap[--size];
+        heap[size] = null;  // Help GC by nullifying removed slot
+        if (size > 0) {
+            heap[0] = last;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    // Open node of a state, or null if the state is not in the heap
+    public Node get(long board) {
+        return index[find(board)];
+    }
+
+    // Number of inserts that hit a state already in the heap since the last clear
+    public long duplicates() {
+        return duplicates;
+    }
+
+    // Check if the heap is empty
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Number of nodes in the heap
+    public int size() {
+        return size;
+    }
+
+    // Remove every node (the heap and the index keep their capacity)
+    public void clear() {
+        java.util.Arrays.fill(heap, 0, size, null);
+        java.util.Arrays.fill(index, null);
+        size = 0;
+        duplicates = 0;
+    }
+
+    // Move the node at "slot" up until its parent has a lower or equal priority
+    private void siftUp(int slot) {
+        Node node = heap[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) / 2;
+            if (heap[parent].priority <= node.priority) break;
+            place(heap[parent], slot);
+            slot = parent;
+        }
+        place(node, slot);
+    }
+
+    // Move the node at "slot" down until both children have a higher or equal priority
+    private void siftDown(int slot) {
+        Node node = heap[slot];
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1].priority < heap[child].priority) child++;
+            if (node.priority <= heap[child].priority) break;
+            place(heap[child], slot);
+            slot = child;
+        }
+        place(node, slot);
+    }
+
+    // Store a node in a heap slot and record the slot in the node
+    private void place(Node node, int slot) {
+        heap[slot] = node;
+        node.heapSlot = slot;
+    }
+
+    // Index position holding "board", or the empty position where it would go
+    private int find(long board) {
+        int mask = index.length - 1;
+        int position = LongHashSet.mix(board) & mask;
+        while (index[position] != null && keys[position] != board) {
+            position = (position + 1) & mask;
+        }
+        return position;
+    }
+
+    // Empty an index position by moving back the following entries of its probe run
+    private void closeGap(int gap) {
+        int mask = index.length - 1;
+        int position = gap;
+        while (true) {
+            position = (position + 1) & mask;
+            Node node = index[position];
+            if (node == null) break;
+
+            // An entry may fill the gap if its home position is not between the gap and where it sits
+            int home = LongHashSet.mix(keys[position]) & mask;
+            if (((position - home) & mask) >= ((position - gap) & mask)) {
+                keys[gap] = keys[position];
+                index[gap] = node;
+                gap = position;
+            }
+        }
+        index[gap] = null;
+    }
+
+    // Double the index and re-insert every open node
+    private void resizeIndex() {
+        allocateIndex(index.length * 2);
+        for (int slot = 0; slot < size; slot++) {
+            int position = find(heap[slot].board);
+            keys[position] = heap[slot].board;
+            index[position] = heap[slot];
+        }
+    }
+
+    // Allocate an empty index of the given power-of-two capacity
+    private void allocateIndex(int capacity) {
+        keys = new long[capacity];
+        index = new Node[capacity];
+    }
+}
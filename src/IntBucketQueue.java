@@ -0,0 +1,121 @@
+/**
+ * BucketQueue of int node indices (see NodeArena): one bucket per f value, each split into
+ * sub-buckets by g, with the same ordering (lowest f, then largest g, then last in first out).
+ * An entry costs 4 bytes and no reference, so the open list of a very large search stays compact.
+ */
+public class IntBucketQueue {
+    // Initial number of nodes each (f, g) stack can hold
+    private static final int INITIAL_STACK_SIZE = 16;
+
+    // buckets[f][g] is a stack of node indices with that f and g
+    private int[][][] buckets;
+
+    // counts[f][g] is the number of nodes in buckets[f][g]
+    private int[][] counts;
+
+    // Number of nodes per f value
+    private int[] sizeOfF;
+
+    // Highest g that may be non-empty for each f value
+    private int[] maxG;
+
+    // Lowest f that may be non-empty
+    private int minF;
+
+    // Total number of nodes in the queue
+    private int size;
+
+    // Constructor to initialize the queue for f values up to "maxF" (it grows if needed)
+    public IntBucketQueue(int maxF) {
+        int capacity = Math.max(maxF, 1) + 1;
+        buckets = new int[capacity][][];
+        counts = new int[capacity][];
+        sizeOfF = new int[capacity];
+        maxG = new int[capacity];
+        minF = capacity;
+        size = 0;
+    }
+
+    // Insert a node index with its f and g
+    public void insert(int node, int f, int g) {
+        if (f >= sizeOfF.length) growF(f);
+        if (buckets[f] == null || g >= buckets[f].length) growG(f, g);
+
+        int[] stack = buckets[f][g];
+        int count = counts[f][g];
+        if (stack == null) {
+            stack = buckets[f][g] = new int[INITIAL_STACK_SIZE];
+        } else if (count == stack.length) {
+            stack = buckets[f][g] = java.util.Arrays.copyOf(stack, count * 2);
+        }
+
+        stack[count] = node;
+        counts[f][g] = count + 1;
+        sizeOfF[f]++;
+        size++;
+
+        if (f < minF) minF = f;
+        if (g > maxG[f]) maxG[f] = g;
+    }
+
+    // Remove and return a node with the lowest f (largest g among ties, last in first out)
+    public int remove() {
+        if (size == 0) throw new IllegalStateException("Open list is empty");
+
+        // Skip empty f buckets; minF only moves back when a lower f is inserted
+        while (sizeOfF[minF] == 0) minF++;
+
+        int f = minF;
+        int g = maxG[f];
+        while (counts[f][g] == 0) g--;
+        maxG[f] = g;
+
+        int count = --counts[f][g];
+        sizeOfF[f]--;
+        size--;
+        return buckets[f][g][count];
+    }
+
+    // Check if the queue is empty
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Number of nodes in the queue
+    public int size() {
+        return size;
+    }
+
+    // Remove every node; the buckets keep their capacity
+    public void clear() {
+        for (int f = 0; f < sizeOfF.length && size > 0; f++) {
+            if (sizeOfF[f] == 0) continue;
+            for (int g = 0; g <= maxG[f]; g++) {
+                size -= counts[f][g];
+                counts[f][g] = 0;
+            }
+            sizeOfF[f] = 0;
+        }
+        java.util.Arrays.fill(maxG, 0);
+        minF = sizeOfF.length;
+        size = 0;
+    }
+
+    // Make room for f values up to "f"
+    private void growF(int f) {
+        int capacity = Math.max(f + 1, sizeOfF.length * 2);
+        buckets = java.util.Arrays.copyOf(buckets, capacity);
+        counts = java.util.Arrays.copyOf(counts, capacity);
+        sizeOfF = java.util.Arrays.copyOf(sizeOfF, capacity);
+        maxG = java.util.Arrays.copyOf(maxG, capacity);
+        if (size == 0) minF = capacity;
+    }
+
+    // Make room for g values up to "g" in the bucket for "f"
+    private void growG(int f, int g) {
+        int capacity = Math.max(g + 1, f + 1);
+        if (buckets[f] != null) capacity = Math.max(capacity, buckets[f].length * 2);
+        buckets[f] = buckets[f] == null ? new int[capacity][] : java.util.Arrays.copyOf(buckets[f], capacity);
+        counts[f] = counts[f] == null ? new int[capacity] : java.util.Arrays.copyOf(counts[f], capacity);
+    }
+}
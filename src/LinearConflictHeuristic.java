@@ -0,0 +1,99 @@
+/**
+ * Manhattan distance plus linear conflicts.
+ * Two tiles in their goal row (or column) but in reversed order must leave the line to pass each
+ * other, which costs 2 extra moves. For each line the extra cost is 2 * (tiles in their goal line
+ * - longest run of them already in order); it is looked up in a table keyed by the 16 bits
+ * of the line, and a move only changes the two lines it crosses.
+ */
+public class LinearConflictHeuristic implements Heuristic {
+    // ROW_CONFLICTS[r][bits] / COLUMN_CONFLICTS[c][bits]: extra moves for a line whose four
+    // tiles (nearest cell first) are packed in "bits"
+    private static final byte[][] ROW_CONFLICTS = new byte[PackedBoard.N][1 << 16];
+    private static final byte[][] COLUMN_CONFLICTS = new byte[PackedBoard.N][1 << 16];
+
+    static {
+        int[] tiles = new int[PackedBoard.N];
+        for (int line = 0; line < PackedBoard.N; line++) {
+            for (int bits = 0; bits < (1 << 16); bits++) {
+                for (int i = 0; i < PackedBoard.N; i++) {
+                    tiles[i] = (bits >>> (i << 2)) & 0xF;
+                }
+                ROW_CONFLICTS[line][bits] = (byte) conflicts(tiles, line, true);
+                COLUMN_CONFLICTS[line][bits] = (byte) conflicts(tiles, line, false);
+            }
+        }
+    }
+
+    private final ManhattanHeuristic manhattan = new ManhattanHeuristic();
+
+    public int estimate(long board) {
+        int distance = PackedBoard.manhattan(board);
+        for (int line = 0; line < PackedBoard.N; line++) {
+            distance += ROW_CONFLICTS[line][row(board, line)] + COLUMN_CONFLICTS[line][column(board, line)];
+        }
+
+        return distance;
+    }
+
+    /**
+     * A horizontal move keeps every row in the same order but changes two columns;
+     * a vertical move changes two rows. Only those two lines are looked up again.
+     */
+    public int update(long parent, long child, int h, int tile, int from, int to) {
+        h = manhattan.update(parent, child, h, tile, from, to);
+
+        int fromRow = from / PackedBoard.N;
+        int toRow = to / PackedBoard.N;
+        if (fromRow == toRow) {
+            int fromColumn = from % PackedBoard.N;
+            int toColumn = to % PackedBoard.N;
+            return h - COLUMN_CONFLICTS[fromColumn][column(parent, fromColumn)] + COLUMN_CONFLICTS[fromColumn][column(child, fromColumn)]
+                    - COLUMN_CONFLICTS[toColumn][column(parent, toColumn)] + COLUMN_CONFLICTS[toColumn][column(child, toColumn)];
+        }
+
+        return h - ROW_CONFLICTS[fromRow][row(parent, fromRow)] + ROW_CONFLICTS[fromRow][row(child, fromRow)]
+                - ROW_CONFLICTS[toRow][row(parent, toRow)] + ROW_CONFLICTS[toRow][row(child, toRow)];
+    }
+
+    // The four tiles of a row as 16 bits (leftmost tile in the low nibble)
+    static int row(long board, int row) {
+        return (int) (board >>> (row << 4)) & 0xFFFF;
+    }
+
+    // The four tiles of a column as 16 bits (top tile in the low nibble)
+    static int column(long board, int column) {
+        int shift = column << 2;
+        return (int) ((board >>> shift) & 0xF
+                | (board >>> (shift + 12)) & 0xF0
+                | (board >>> (shift + 24)) & 0xF00
+                | (board >>> (shift + 36)) & 0xF000);
+    }
+
+    // Extra moves caused by the tiles of one line that belong to it but are out of order
+    private static int conflicts(int[] tiles, int line, boolean isRow) {
+        // Goal coordinate along the line of every tile whose goal lies on this line
+        int[] order = new int[PackedBoard.N];
+        int count = 0;
+        for (int tile : tiles) {
+            if (tile == 0) continue;
+            int goalRow = (tile - 1) / PackedBoard.N;
+            int goalColumn = (tile - 1) % PackedBoard.N;
+            if ((isRow ? goalRow : goalColumn) == line) {
+                order[count++] = isRow ? goalColumn : goalRow;
+            }
+        }
+
+        // Longest increasing subsequence: those tiles can stay, all others must step aside
+        int[] longest = new int[count];
+        int best = 0;
+        for (int i = 0; i < count; i++) {
+            longest[i] = 1;
+            for (int j = 0; j < i; j++) {
+                if (order[j] < order[i] && longest[j] + 1 > longest[i]) longest[i] = longest[j] + 1;
+            }
+            best = Math.max(best, longest[i]);
+        }
+
+        return 2 * (count - best);
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Open-addressing hash set of primitive longs (e.g. packed boards).
+ * Keys live in a single long[] with power-of-two capacity and linear probing,
+ * so there is no boxing and no per-entry object.
+ */
+public class LongHashSet {
+    // Maximum fill ratio before the table is doubled
+    private static final double LOAD_FACTOR = 0.75;
+
+    // Array of keys; 0 marks an empty slot
+    private long[] table;
+
+    // capacity - 1, used instead of modulo to compute slot indexes
+    private int mask;
+
+    // Number of elements stored in the set (including the zero key)
+    private int size;
+
+    // Size at which the table is doubled
+    private int resizeThreshold;
+
+    // 0 is the empty marker, so its membership is tracked separately
+    private boolean hasZeroKey;
+
+    // Constructor to initialize the set with room for at least "cap" keys
+    public LongHashSet(int cap) {
+        allocate(tableSizeFor(cap));
+    }
+
+    // Check if a key is present in the set
+    public boolean contains(long key) {
+        if (key == 0) return hasZeroKey;
+
+        int index = mix(key) & mask;
+        while (table[index] != 0) {
+            if (table[index] == key) return true;
+            index = (index + 1) & mask;
+        }
+
+        return false;
+    }
+
+    // Add a key to the set, returning false if it was already present
+    public boolean add(long key) {
+        if (key == 0) {
+            if (hasZeroKey) return false;
+            hasZeroKey = true;
+            size++;
+            return true;
+        }
+
+        int index = mix(key) & mask;
+        while (table[index] != 0) {
+            if (table[index] == key) return false;
+            index = (index + 1) & mask;
+        }
+
+        table[index] = key;
+        if (++size >= resizeThreshold) resize();
+        return true;
+    }
+
+    // Number of keys in the set
+    public int size() {
+        return size;
+    }
+
+    // Remove all keys while keeping the allocated table
+    public void clear() {
+        java.util.Arrays.fill(table, 0);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    // Double the table and re-insert every key
+    private void resize() {
+        long[] oldTable = table;
+        allocate(oldTable.length * 2);
+
+        for (long key : oldTable) {
+            if (key == 0) continue;
+            int index = mix(key) & mask;
+            while (table[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            table[index] = key;
+        }
+    }
+
+    // Allocate an empty table of the given power-of-two capacity
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    // Smallest power of two that holds "cap" keys below the load factor
+    static int tableSizeFor(int cap) {
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR <= cap && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    // Spread the bits of a key (MurmurHash3 finalizer) so nearby boards land far apart
+    static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Open-addressing hash map from primitive long keys to int values.
+ * Used by A* to remember the best cost (g) at which each packed board was expanded,
+ * so a state reached again through a cheaper path can be reopened.
+ */
+public class LongIntHashMap {
+    // Maximum fill ratio before the table is doubled
+    private static final double LOAD_FACTOR = 0.75;
+
+    // Parallel arrays of keys and values; key 0 marks an empty slot
+    private long[] keys;
+    private int[] values;
+
+    // capacity - 1, used instead of modulo to compute slot indexes
+    private int mask;
+
+    // Number of entries stored in the map (including the zero key)
+    private int size;
+
+    // Size at which the table is doubled
+    private int resizeThreshold;
+
+    // 0 is the empty marker, so its entry is stored separately
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    // Constructor to initialize the map with room for at least "cap" entries
+    public LongIntHashMap(int cap) {
+        allocate(LongHashSet.tableSizeFor(cap));
+    }
+
+    // Return the value stored for a key, or defaultValue if it is absent
+    public int get(long key, int defaultValue) {
+        if (key == 0) return hasZeroKey ? zeroValue : defaultValue;
+
+        int index = LongHashSet.mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) return values[index];
+            index = (index + 1) & mask;
+        }
+
+        return defaultValue;
+    }
+
+    // Check if a key is present in the map
+    public boolean containsKey(long key) {
+        if (key == 0) return hasZeroKey;
+
+        int index = LongHashSet.mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) return true;
+            index = (index + 1) & mask;
+        }
+
+        return false;
+    }
+
+    // Insert or overwrite the value for a key
+    public void put(long key, int value) {
+        if (key == 0) {
+            if (!hasZeroKey) size++;
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+
+        int index = LongHashSet.mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        if (++size >= resizeThreshold) resize();
+    }
+
+    // Number of entries in the map
+    public int size() {
+        return size;
+    }
+
+    // Number of slots in the table (its memory is 12 bytes per slot)
+    public int capacity() {
+        return keys.length;
+    }
+
+    // Remove all entries while keeping the allocated arrays
+    public void clear() {
+        java.util.Arrays.fill(keys, 0);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    // Double the table and re-insert every entry
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key == 0) continue;
+            int index = LongHashSet.mix(key) & mask;
+            while (keys[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = oldValues[i];
+        }
+    }
+
+    // Allocate empty arrays of the given power-of-two capacity
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+}
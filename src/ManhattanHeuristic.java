@@ -0,0 +1,52 @@
+/**
+ * Sum of the Manhattan distances of all tiles to their positions in a target board
+ * (the goal by default; the start board when searching backwards)
+ */
+public class ManhattanHeuristic implements Heuristic {
+    // Distance of each tile at each position to its target position, indexed by (tile << 4) | position
+    private final byte[] distance = new byte[PackedBoard.SIZE << 4];
+
+    // Change of the Manhattan distance when a tile slides between two cells,
+    // indexed by (tile << 8) | (from << 4) | to
+    private final byte[] delta = new byte[PackedBoard.SIZE << 8];
+
+    // Create the heuristic for the standard goal board
+    public ManhattanHeuristic() {
+        this(PackedBoard.GOAL);
+    }
+
+    // Create the heuristic for any target board containing every tile once
+    public ManhattanHeuristic(long target) {
+        long targetPositions = PackedBoard.invert(target);
+        for (int tile = 1; tile < PackedBoard.SIZE; tile++) {
+            int goal = PackedBoard.get(targetPositions, tile);
+            for (int position = 0; position < PackedBoard.SIZE; position++) {
+                distance[(tile << 4) | position] = (byte) (Math.abs(position / PackedBoard.N - goal / PackedBoard.N)
+                        + Math.abs(position % PackedBoard.N - goal % PackedBoard.N));
+            }
+        }
+
+        for (int tile = 1; tile < PackedBoard.SIZE; tile++) {
+            for (int from = 0; from < PackedBoard.SIZE; from++) {
+                for (int to = 0; to < PackedBoard.SIZE; to++) {
+                    delta[(tile << 8) | (from << 4) | to] =
+                            (byte) (distance[(tile << 4) | to] - distance[(tile << 4) | from]);
+                }
+            }
+        }
+    }
+
+    public int estimate(long board) {
+        int h = 0;
+        for (int position = 0; position < PackedBoard.SIZE; position++) {
+            h += distance[(PackedBoard.get(board, position) << 4) | position];
+        }
+
+        return h;
+    }
+
+    // Only the moved tile changes its distance, by exactly +1 or -1
+    public int update(long parent, long child, int h, int tile, int from, int to) {
+        return h + delta[(tile << 8) | (from << 4) | to];
+    }
+}
@@ -1,4 +1,4 @@
-public class MinHeap {
+public class MinHeap implements OpenList {
     // Array-based binary heap to store Node elements
     Node[] heap;
 
@@ -65,6 +65,17 @@ public class MinHeap {
         return size == 0;
     }
 
+    // Number of nodes in the heap
+    public int size() {
+        return size;
+    }
+
+    // Remove every node (the array keeps its capacity)
+    public void clear() {
+        java.util.Arrays.fill(heap, 0, size, null);
+        size = 0;
+    }
+
     // Swap two nodes in the heap array
     public void swap(int i, int j) {
         Node temp = heap[i];
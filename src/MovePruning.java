@@ -0,0 +1,253 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finite-state machine that prunes redundant move sequences (Taylor and Korf 1993).
+ * Sequences of blank moves up to a fixed length are enumerated on an unbounded grid; a sequence
+ * is redundant if another sequence with the same effect is shorter (or, for IDA*, as long but
+ * lexicographically smaller) and only moves the blank through cells the first one visits, so it
+ * is legal on the 4x4 board wherever the first one is. The redundant sequences are compiled into
+ * an Aho-Corasick automaton: a search keeps one automaton state per node and pays a single table
+ * lookup per move. Immediate reversals (e.g. UD) are the shortest redundant sequences, so the
+ * automaton subsumes the usual "don't undo the last move" check.
+ *
+ * Directions are the blank moves used by the solvers: 0 = row + 1, 1 = row - 1, 2 = column + 1,
+ * 3 = column - 1.
+ */
+public final class MovePruning {
+    // Blank displacement of each direction (same order as the solvers' dx and dy)
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DY = {0, 0, 1, -1};
+
+    // Length of the longest enumerated move sequence (about 39,000 states, built in a few hundred ms)
+    public static final int DEFAULT_DEPTH = 10;
+
+    // State of the automaton before any move
+    public static final int START = 0;
+
+    // transitions[state * 4 + direction]: next state, or -1 if the move completes a redundant sequence
+    private final int[] transitions;
+
+    // Number of redundant sequences compiled into the automaton
+    private final int patterns;
+
+    private MovePruning(int[] transitions, int patterns) {
+        this.transitions = transitions;
+        this.patterns = patterns;
+    }
+
+    /**
+     * Automaton pruning every redundant sequence; safe for IDA* whatever order it searches children in,
+     * since whether a move is pruned depends only on the sequence it completes, and of equally long
+     * equivalents the lexicographically smallest always survives
+     */
+    public static MovePruning all() {
+        return AllHolder.INSTANCE;
+    }
+
+    /**
+     * Automaton pruning only sequences with a strictly shorter equivalent; safe with A*'s duplicate detection
+     */
+    public static MovePruning shorter() {
+        return ShorterHolder.INSTANCE;
+    }
+
+    /**
+     * State after moving the blank in "direction" from "state", or -1 if the move must be pruned
+     */
+    public int next(int state, int direction) {
+        return transitions[(state << 2) | direction];
+    }
+
+    // Number of automaton states
+    public int states() {
+        return transitions.length >> 2;
+    }
+
+    // Number of redundant sequences the automaton recognises
+    public int patterns() {
+        return patterns;
+    }
+
+    /**
+     * Enumerate move sequences up to "depth" moves and compile the redundant ones into an automaton.
+     * With strictlyShorter, a sequence is only redundant if an equivalent one is strictly shorter.
+     */
+    public static MovePruning build(int depth, boolean strictlyShorter) {
+        int width = 2 * depth + 1;
+        int center = depth * width + depth;
+
+        // Irreducible sequences grouped by effect: the moved tiles and where the blank ends up
+        Map<String, List<long[]>> irreducible = new HashMap<>();
+        List<int[]> forbidden = new ArrayList<>();
+        List<int[]> frontier = new ArrayList<>();
+        frontier.add(new int[0]);
+        irreducible.computeIfAbsent("", key -> new ArrayList<>()).add(visited(new int[0], width, center, null));
+
+        int[] grid = new int[width * width];
+        for (int length = 1; length <= depth; length++) {
+            List<int[]> next = new ArrayList<>();
+            for (int[] prefix : frontier) {
+                for (int direction = 0; direction < 4; direction++) {
+                    int[] sequence = Arrays.copyOf(prefix, length);
+                    sequence[length - 1] = direction;
+
+                    long[] cells = visited(sequence, width, center, grid);
+                    String effect = effect(grid, cells);
+
+                    // Redundant if an earlier (shorter, or as long and lexicographically smaller)
+                    // irreducible sequence has the same effect within a subset of the cells
+                    boolean redundant = false;
+                    List<long[]> group = irreducible.computeIfAbsent(effect, key -> new ArrayList<>());
+                    for (long[] other : group) {
+                        if (strictlyShorter && other[0] == length) continue;
+                        if (isSubset(other, cells)) {
+                            redundant = true;
+                            break;
+                        }
+                    }
+
+                    if (redundant) {
+                        forbidden.add(sequence);
+                    } else {
+                        cells[0] = length;
+                        group.add(cells);
+                        next.add(sequence);
+                    }
+                }
+            }
+            frontier = next;
+        }
+
+        return new MovePruning(compile(forbidden), forbidden.size());
+    }
+
+    // Replay a sequence from the center of an empty grid; returns the visited cells as a bitmask
+    // (word 0 is reserved for the sequence length) and leaves the tile layout in "grid"
+    private static long[] visited(int[] sequence, int width, int center, int[] grid) {
+        long[] cells = new long[1 + (width * width + 63) / 64];
+        if (grid != null) {
+            for (int i = 0; i < grid.length; i++) grid[i] = i;
+        }
+
+        int blank = center;
+        cells[1 + (blank >> 6)] |= 1L << blank;
+        for (int direction : sequence) {
+            int target = blank + DX[direction] * width + DY[direction];
+            if (grid != null) {
+                grid[blank] = grid[target];
+                grid[target] = center;
+            }
+            blank = target;
+            cells[1 + (blank >> 6)] |= 1L << blank;
+        }
+
+        return cells;
+    }
+
+    // Canonical description of the effect of a sequence: every visited cell whose content changed
+    private static String effect(int[] grid, long[] cells) {
+        StringBuilder key = new StringBuilder();
+        for (int word = 1; word < cells.length; word++) {
+            for (long bits = cells[word]; bits != 0; bits &= bits - 1) {
+                int cell = ((word - 1) << 6) + Long.numberOfTrailingZeros(bits);
+                if (grid[cell] != cell) {
+                    key.append((char) cell).append((char) grid[cell]);
+                }
+            }
+        }
+
+        return key.toString();
+    }
+
+    // Whether the cells of "a" are a subset of the cells of "b" (word 0 holds lengths)
+    private static boolean isSubset(long[] a, long[] b) {
+        for (int word = 1; word < a.length; word++) {
+            if ((a[word] & ~b[word]) != 0) return false;
+        }
+
+        return true;
+    }
+
+    // Build the Aho-Corasick automaton of the forbidden sequences and keep only its allowed states
+    private static int[] compile(List<int[]> forbidden) {
+        // Trie of the sequences; node 0 is the root
+        List<int[]> children = new ArrayList<>();
+        List<Boolean> terminal = new ArrayList<>();
+        children.add(new int[]{-1, -1, -1, -1});
+        terminal.add(false);
+        for (int[] sequence : forbidden) {
+            int node = 0;
+            for (int direction : sequence) {
+                if (children.get(node)[direction] == -1) {
+                    children.get(node)[direction] = children.size();
+                    children.add(new int[]{-1, -1, -1, -1});
+                    terminal.add(false);
+                }
+                node = children.get(node)[direction];
+            }
+            terminal.set(node, true);
+        }
+
+        // Breadth-first: failure links, then full transitions; a node is forbidden if it or its
+        // failure chain ends a sequence
+        int size = children.size();
+        int[] fail = new int[size];
+        boolean[] isForbidden = new boolean[size];
+        int[][] delta = new int[size][4];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int direction = 0; direction < 4; direction++) {
+            int child = children.get(0)[direction];
+            if (child == -1) {
+                delta[0][direction] = 0;
+            } else {
+                delta[0][direction] = child;
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            isForbidden[node] = terminal.get(node) || isForbidden[fail[node]];
+            for (int direction = 0; direction < 4; direction++) {
+                int child = children.get(node)[direction];
+                if (child == -1) {
+                    delta[node][direction] = delta[fail[node]][direction];
+                } else {
+                    delta[node][direction] = child;
+                    fail[child] = delta[fail[node]][direction];
+                    queue.add(child);
+                }
+            }
+        }
+
+        // Renumber the allowed nodes (the root stays 0) and point forbidden moves at -1
+        int[] index = new int[size];
+        int states = 0;
+        for (int node = 0; node < size; node++) {
+            index[node] = isForbidden[node] ? -1 : states++;
+        }
+        int[] transitions = new int[states * 4];
+        for (int node = 0; node < size; node++) {
+            if (index[node] == -1) continue;
+            for (int direction = 0; direction < 4; direction++) {
+                transitions[(index[node] << 2) | direction] = index[delta[node][direction]];
+            }
+        }
+
+        return transitions;
+    }
+
+    // Built on first use only
+    private static class AllHolder {
+        static final MovePruning INSTANCE = build(DEFAULT_DEPTH, false);
+    }
+
+    private static class ShorterHolder {
+        static final MovePruning INSTANCE = build(DEFAULT_DEPTH, true);
+    }
+}
@@ -0,0 +1,76 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Array of 4-bit values addressed by a long index, so it can hold more than 2^31 entries.
+ * Storage is split into chunks of longs (16 nibbles per long). compareAndSet is atomic and
+ * lock-free, so several threads can claim entries of the same array concurrently.
+ */
+public class NibbleArray {
+    // Atomic access to the elements of a chunk
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Each chunk holds 2^CHUNK_BITS longs
+    private static final int CHUNK_BITS = 24;
+    private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+    // Chunks of packed nibbles
+    private final long[][] chunks;
+
+    // Number of nibbles in the array
+    private final long length;
+
+    // Constructor to create an array of "length" nibbles, all set to "initialValue"
+    public NibbleArray(long length, int initialValue) {
+        this.length = length;
+        long words = (length + 15) >>> 4;
+        int chunkCount = (int) ((words + CHUNK_MASK) >>> CHUNK_BITS);
+        chunks = new long[chunkCount][];
+
+        long pattern = 0;
+        for (int i = 0; i < 16; i++) {
+            pattern |= (long) (initialValue & 0xF) << (i << 2);
+        }
+
+        for (int i = 0; i < chunkCount; i++) {
+            int size = (int) Math.min(1L << CHUNK_BITS, words - ((long) i << CHUNK_BITS));
+            chunks[i] = new long[size];
+            if (pattern != 0) java.util.Arrays.fill(chunks[i], pattern);
+        }
+    }
+
+    // Return the nibble at the given index
+    public int get(long index) {
+        long word = index >>> 4;
+        return (int) (chunks[(int) (word >>> CHUNK_BITS)][(int) word & CHUNK_MASK] >>> ((index & 0xF) << 2)) & 0xF;
+    }
+
+    // Store a nibble at the given index
+    public void set(long index, int value) {
+        long word = index >>> 4;
+        long[] chunk = chunks[(int) (word >>> CHUNK_BITS)];
+        int slot = (int) word & CHUNK_MASK;
+        int shift = (int) (index & 0xF) << 2;
+        chunk[slot] = (chunk[slot] & ~(0xFL << shift)) | ((long) (value & 0xF) << shift);
+    }
+
+    // Atomically replace the nibble at "index" with "value" if it currently holds "expected"
+    public boolean compareAndSet(long index, int expected, int value) {
+        long word = index >>> 4;
+        long[] chunk = chunks[(int) (word >>> CHUNK_BITS)];
+        int slot = (int) word & CHUNK_MASK;
+        int shift = (int) (index & 0xF) << 2;
+
+        while (true) {
+            long current = (long) WORDS.getVolatile(chunk, slot);
+            if (((current >>> shift) & 0xF) != expected) return false;
+            long updated = (current & ~(0xFL << shift)) | ((long) (value & 0xF) << shift);
+            if (WORDS.compareAndSet(chunk, slot, current, updated)) return true;
+        }
+    }
+
+    // Number of nibbles in the array
+    public long length() {
+        return length;
+    }
+}
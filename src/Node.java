@@ -1,12 +1,13 @@
 public class Node {
-    // The current state of the puzzle board
-    int[][] board;
+    // The current state of the puzzle board, packed 4 bits per tile (see PackedBoard)
+    long board;
 
     // The current position of the blank tile (0)
     int blankRow, blankColumn;
 
-    // The path taken to reach this state (as a string of moves like "UDLR")
-    String path;
+    // The node this state was generated from (null for the start node); the move
+    // string is rebuilt from these links once the goal is reached
+    Node parent;
 
     // The cost (number of moves) from the start state to this node
     int cost;
@@ -14,21 +15,29 @@ public class Node {
     // The estimated total cost (f = g + h) used in informed search algorithms like A*
     int priority;
 
-    // The direction taken to reach this node from its parent (used to avoid reversing moves)
+    // The direction taken to reach this node from its parent (used to avoid reversing moves
+    // and to rebuild the path)
     int previousDirection;
 
-    // Constructor to create a new node with current board, position of blank, path so far, cost, and previous move
-    Node(int[][] board, int blankRow, int blankColumn, String path, int cost, int previousDirection) {
-        // Deep copy to prevent reference issues when board is mutated
-        this.board = Helper.deepCopy(board);
+    // Position of the node in an IndexedMinHeap (only meaningful while it is in one)
+    int heapSlot;
+
+    // State of the move pruning automaton after the moves leading here (MovePruning.START at the root)
+    int pruningState;
+
+    // Constructor to create a new node with current board, position of blank, parent node, cost,
+    // heuristic estimate of the remaining cost, and previous move
+    Node(long board, int blankRow, int blankColumn, Node parent, int cost, int estimate, int previousDirection) {
+        // The packed board is a value, so no defensive copy is needed
+        this.board = board;
 
         this.blankRow = blankRow;
         this.blankColumn = blankColumn;
-        this.path = path;
+        this.parent = parent;
         this.cost = cost;
 
-        // Priority is computed as cost so far + Manhattan heuristic
-        priority = this.cost + Helper.manhattan(this.board);
+        // Priority is computed as cost so far + heuristic estimate
+        priority = this.cost + estimate;
 
         this.previousDirection = previousDirection;
     }
@@ -0,0 +1,128 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Struct-of-arrays store of A* search nodes, addressed by int index.
+ * Every node takes 20 bytes in flat primitive columns (packed board, parent index, move pruning
+ * state, cost, heuristic value and the move that produced it), with no object header and no
+ * reference for the garbage collector to trace, so a search can hold hundreds of millions of nodes.
+ *
+ * Columns are split into chunks of CHUNK_SIZE nodes, allocated on demand. Each chunk is a single
+ * ByteBuffer, either on the Java heap or, for very large searches, off-heap (direct), in which case
+ * the nodes do not count against -Xmx at all. Chunks are kept by clear() and reused by the next search;
+ * release() drops those past a limit. Java cannot free a direct buffer explicitly: released
+ * off-heap chunks are returned to the system when the garbage collector reclaims their buffers.
+ *
+ * Not thread-safe: ArenaAStar gives every thread its own arena.
+ */
+public class NodeArena {
+    // Nodes per chunk (a power of two, so an index splits into chunk and offset with shifts)
+    static final int CHUNK_BITS = 16;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // Bytes per node and the start of each column inside a chunk
+    static final int NODE_SIZE = 20;
+    private static final int BOARDS = 0;
+    private static final int PARENTS = BOARDS + Long.BYTES * CHUNK_SIZE;
+    private static final int STATES = PARENTS + Integer.BYTES * CHUNK_SIZE;
+    private static final int COSTS = STATES + Integer.BYTES * CHUNK_SIZE;
+    private static final int ESTIMATES = COSTS + Short.BYTES * CHUNK_SIZE;
+    private static final int MOVES = ESTIMATES + CHUNK_SIZE;
+
+    private final boolean offHeap;                         // Allocate chunks outside the Java heap
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private int size;                                      // Number of nodes stored
+
+    // Create an empty arena with chunks on the heap or off-heap
+    public NodeArena(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * Store a node and return its index. The cost must fit in 15 bits and the estimate in 8 bits;
+     * direction is -1 for the root (which has parent -1).
+     */
+    public int add(long board, int parent, int cost, int estimate, int blank, int direction, int pruningState) {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Node arena is full");
+        }
+        int index = size;
+        int chunk = index >>> CHUNK_BITS;
+        if (chunk == chunks.size()) {
+            ByteBuffer buffer = offHeap ? ByteBuffer.allocateDirect(NODE_SIZE * CHUNK_SIZE)
+                    : ByteBuffer.allocate(NODE_SIZE * CHUNK_SIZE);
+            chunks.add(buffer.order(ByteOrder.nativeOrder()));
+        }
+
+        ByteBuffer buffer = chunks.get(chunk);
+        int offset = index & CHUNK_MASK;
+        buffer.putLong(BOARDS + (offset << 3), board);
+        buffer.putInt(PARENTS + (offset << 2), parent);
+        buffer.putInt(STATES + (offset << 2), pruningState);
+        buffer.putShort(COSTS + (offset << 1), (short) cost);
+        buffer.put(ESTIMATES + offset, (byte) estimate);
+        buffer.put(MOVES + offset, (byte) ((blank << 3) | (direction + 1)));
+        size++;
+        return index;
+    }
+
+    // Packed board of a node
+    public long board(int node) {
+        return chunks.get(node >>> CHUNK_BITS).getLong(BOARDS + ((node & CHUNK_MASK) << 3));
+    }
+
+    // Index of the node's parent (-1 for the root)
+    public int parent(int node) {
+        return chunks.get(node >>> CHUNK_BITS).getInt(PARENTS + ((node & CHUNK_MASK) << 2));
+    }
+
+    // Move pruning automaton state after the moves leading to the node
+    public int pruningState(int node) {
+        return chunks.get(node >>> CHUNK_BITS).getInt(STATES + ((node & CHUNK_MASK) << 2));
+    }
+
+    // Number of moves from the root
+    public int cost(int node) {
+        return chunks.get(node >>> CHUNK_BITS).getShort(COSTS + ((node & CHUNK_MASK) << 1));
+    }
+
+    // Heuristic value of the node's board
+    public int estimate(int node) {
+        return chunks.get(node >>> CHUNK_BITS).get(ESTIMATES + (node & CHUNK_MASK)) & 0xFF;
+    }
+
+    // Position of the blank
+    public int blank(int node) {
+        return (chunks.get(node >>> CHUNK_BITS).get(MOVES + (node & CHUNK_MASK)) & 0xFF) >>> 3;
+    }
+
+    // Direction of the move that produced the node (-1 for the root)
+    public int direction(int node) {
+        return (chunks.get(node >>> CHUNK_BITS).get(MOVES + (node & CHUNK_MASK)) & 7) - 1;
+    }
+
+    // Number of nodes stored
+    public int size() {
+        return size;
+    }
+
+    // Bytes allocated by the chunks
+    public long capacityBytes() {
+        return (long) chunks.size() * NODE_SIZE * CHUNK_SIZE;
+    }
+
+    // Forget every node; the chunks are kept for the next search
+    public void clear() {
+        size = 0;
+    }
+
+    // Forget every node and drop the chunks past the first "retainedBytes" bytes
+    public void release(long retainedBytes) {
+        size = 0;
+        int keep = (int) Math.min(chunks.size(), retainedBytes / ((long) NODE_SIZE * CHUNK_SIZE));
+        chunks.subList(keep, chunks.size()).clear();
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * Open list (frontier) used by A*: nodes come out in order of lowest priority (f-cost)
+ */
+public interface OpenList {
+    // Add a node to the open list
+    void insert(Node node);
+
+    // Remove and return the node with the lowest priority
+    Node remove();
+
+    // Check if the open list is empty
+    boolean isEmpty();
+
+    // Number of nodes in the open list
+    int size();
+
+    // Remove every node, keeping the allocated capacity for the next search
+    void clear();
+}
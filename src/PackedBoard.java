@@ -0,0 +1,186 @@
+/**
+ * Packed representation of a 4x4 board: 16 tiles x 4 bits stored in a single long.
+ * The tile at position p (row-major, 0..15) lives in bits [4p, 4p + 4).
+ * All operations work directly on the packed value, so a state costs 8 bytes
+ * and moving the blank never allocates.
+ */
+public final class PackedBoard {
+    // Board size (4x4 for the 15-puzzle)
+    public static final int N = 4;
+
+    // Number of cells on the board
+    public static final int SIZE = N * N;
+
+    // Packed goal state: 1..15 followed by the blank (0)
+    public static final long GOAL = goal();
+
+    // Manhattan distance of each tile at each position, MANHATTAN[tile][position]
+    private static final int[][] MANHATTAN = new int[SIZE][SIZE];
+
+    static {
+        for (int tile = 1; tile < SIZE; tile++) {
+            for (int position = 0; position < SIZE; position++) {
+                MANHATTAN[tile][position] = Helper.calculateManhattan(position / N, position % N, tile, N);
+            }
+        }
+    }
+
+    private PackedBoard() {
+    }
+
+    /**
+     * Pack a 4x4 board into a long
+     */
+    public static long pack(int[][] board) {
+        long packed = 0;
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++) {
+                packed |= (long) board[i][j] << ((i * N + j) << 2);
+            }
+        }
+
+        return packed;
+    }
+
+    /**
+     * Unpack a long back into a 4x4 board
+     */
+    public static int[][] unpack(long packed) {
+        int[][] board = new int[N][N];
+        for (int position = 0; position < SIZE; position++) {
+            board[position / N][position % N] = get(packed, position);
+        }
+
+        return board;
+    }
+
+    /**
+     * Get the tile stored at the given position
+     */
+    public static int get(long packed, int position) {
+        return (int) (packed >>> (position << 2)) & 0xF;
+    }
+
+    /**
+     * Get the position (row-major index) of the blank (0) tile, or -1 if there is none
+     */
+    public static int blankPosition(long packed) {
+        for (int position = 0; position < SIZE; position++) {
+            if (get(packed, position) == 0) {
+                return position;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Position of "tile" on the board, or -1 if it is missing. Finds the nibble equal to the tile in
+     * constant time: after XOR-ing the tile into every nibble, the lowest zero nibble is flagged
+     * exactly by the borrow test (v - 0x11..1) & ~v & 0x88..8.
+     */
+    public static int positionOf(long packed, int tile) {
+        long v = packed ^ (tile * 0x1111111111111111L);
+        long zero = (v - 0x1111111111111111L) & ~v & 0x8888888888888888L;
+        return zero == 0 ? -1 : Long.numberOfTrailingZeros(zero) >>> 2;
+    }
+
+    /**
+     * Slide the tile at position "target" into the blank at position "blank".
+     * The blank nibble is zero, so the tile can simply be OR-ed into place.
+     */
+    public static long move(long packed, int blank, int target) {
+        long tile = (packed >>> (target << 2)) & 0xFL;
+        return (packed & ~(0xFL << (target << 2))) | (tile << (blank << 2));
+    }
+
+    /**
+     * Swap the tiles at two arbitrary positions
+     */
+    public static long swap(long packed, int source, int destination) {
+        long a = (packed >>> (source << 2)) & 0xFL;
+        long b = (packed >>> (destination << 2)) & 0xFL;
+        long cleared = packed & ~((0xFL << (source << 2)) | (0xFL << (destination << 2)));
+        return cleared | (a << (destination << 2)) | (b << (source << 2));
+    }
+
+    /**
+     * Invert the board: the result holds, for each tile t, the position of t in nibble t
+     */
+    public static long invert(long packed) {
+        long inverse = 0;
+        for (int position = 0; position < SIZE; position++) {
+            inverse |= (long) position << (get(packed, position) << 2);
+        }
+
+        return inverse;
+    }
+
+    /**
+     * Dual board (inverse permutation): reading every tile as its goal cell, position p of the
+     * dual holds the cell where the board keeps the tile that belongs at p. Only meaningful with
+     * the blank in its goal cell; the dual then needs exactly as many moves to solve as the board.
+     */
+    public static long dual(long packed) {
+        long inverse = invert(packed);
+        long dual = 0;
+        for (int position = 0; position < SIZE; position++) {
+            int tile = position == SIZE - 1 ? 0 : position + 1;
+            int source = (int) (inverse >>> (tile << 2)) & 0xF;
+            dual |= (long) (source == SIZE - 1 ? 0 : source + 1) << (position << 2);
+        }
+
+        return dual;
+    }
+
+    /**
+     * Mirror the board in the main diagonal, renumbering tiles so the goal maps to itself.
+     * The reflected board needs exactly as many moves to solve as the board itself.
+     */
+    public static long reflect(long packed) {
+        long reflected = 0;
+        for (int position = 0; position < SIZE; position++) {
+            int tile = get(packed, position);
+            int mirrored = tile == 0 ? 0 : ((tile - 1) % N) * N + (tile - 1) / N + 1;
+            reflected |= (long) mirrored << (((position % N) * N + position / N) << 2);
+        }
+
+        return reflected;
+    }
+
+    /**
+     * Check if the packed board is the goal state
+     */
+    public static boolean isGoal(long packed) {
+        return packed == GOAL;
+    }
+
+    /**
+     * Total Manhattan distance of all non-blank tiles
+     */
+    public static int manhattan(long packed) {
+        int distance = 0;
+        for (int position = 0; position < SIZE; position++) {
+            distance += MANHATTAN[get(packed, position)][position];
+        }
+
+        return distance;
+    }
+
+    /**
+     * Manhattan distance of a single tile at a position (0 for the blank)
+     */
+    public static int manhattan(int tile, int position) {
+        return MANHATTAN[tile][position];
+    }
+
+    // Build the packed goal state
+    private static long goal() {
+        long packed = 0;
+        for (int position = 0; position < SIZE - 1; position++) {
+            packed |= (long) (position + 1) << (position << 2);
+        }
+
+        return packed;
+    }
+}
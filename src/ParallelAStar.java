@@ -0,0 +1,317 @@
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hash-distributed parallel A* (HDA*).
+ * Every worker owns the states whose hash maps to it and keeps a private open list and a
+ * private table of best known costs for them, so no search structure is shared. Generated
+ * children are buffered per owner and sent in batches through lock-free queues.
+ *
+ * A goal found by any worker becomes the incumbent; nodes with f >= incumbent are pruned.
+ * The search ends when every open list is exhausted and no message is in flight, which is
+ * tracked by a single "pending" counter: each busy worker holds one token, each batch in
+ * flight holds one token per node, and the count only reaches zero when everything is done.
+ * With an admissible heuristic the incumbent is then optimal.
+ */
+public class ParallelAStar implements Solver {
+    private static final int N = AStar.N;
+
+    // Number of nodes sent to another worker in one message
+    private static final int BATCH_SIZE = 64;
+
+    // Nodes expanded between two flushes of the outgoing buffers
+    private static final int FLUSH_INTERVAL = 256;
+
+    private final Heuristic heuristic;     // Admissible estimate of the remaining cost
+    private final int threads;             // Number of workers (and partitions of the state space)
+
+    // Create a parallel solver using all cores and the Manhattan heuristic
+    public ParallelAStar() {
+        this(new ManhattanHeuristic(), Runtime.getRuntime().availableProcessors());
+    }
+
+    // Create a parallel solver with the given heuristic and number of workers
+    public ParallelAStar(Heuristic heuristic, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required: " + threads);
+        }
+        this.heuristic = heuristic;
+        this.threads = threads;
+    }
+
+    // Public method to solve a given 15-puzzle using HDA*
+    public SolveResult search(int[][] puzzle) {
+        long startTime = System.nanoTime();
+
+        // Validate input
+        if (!Helper.isValid(puzzle)) {
+            return new SolveResult(Helper.INVALID_PUZZLE_MESSAGE, 0, 0, System.nanoTime() - startTime);
+        }
+
+        long start = PackedBoard.pack(puzzle);
+
+        // Check for solvable
+        if (!Helper.isSolvable(puzzle)) {
+            return new SolveResult(Helper.UNSOLVABLE_MESSAGE, start, 0, System.nanoTime() - startTime);
+        }
+        int blank = PackedBoard.blankPosition(start);
+
+        Search search = new Search(heuristic, threads);
+        Node root = new Node(start, blank / N, blank % N, null, 0, heuristic.estimate(start), -1);
+        search.workers[search.owner(start)].receive(root);
+
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(search.workers[i], "hda-worker-" + i);
+            workers[i].start();
+        }
+        boolean interrupted = false;
+        for (int i = 0; i < threads; i++) {
+            try {
+                workers[i].join();
+            } catch (InterruptedException e) {
+                // Stop the workers, wait for them to leave and report the cancellation
+                search.abort(e);
+                interrupted = true;
+                i--;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Search interrupted");
+        }
+        if (search.error.get() != null) {
+            throw new RuntimeException("Parallel A* failed", search.error.get());
+        }
+
+        long expanded = 0;
+        for (Worker worker : search.workers) {
+            expanded += worker.expanded;
+        }
+
+        Node goal = search.incumbent.get();
+        if (goal == null) {
+            return new SolveResult("No solution", start, expanded, System.nanoTime() - startTime);
+        }
+        return new SolveResult(AStar.buildPath(goal), goal.board, expanded, System.nanoTime() - startTime);
+    }
+
+    // State shared by the workers of one solve
+    private static class Search {
+        final Heuristic heuristic;
+        final Worker[] workers;
+
+        // Busy workers plus nodes in flight; zero means the search is finished
+        final AtomicLong pending;
+
+        // Best goal found so far (its cost is read from the same reference, so both always agree)
+        final AtomicReference<Node> incumbent = new AtomicReference<>();
+
+        // First failure of any worker; stops all the others
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Search(Heuristic heuristic, int threads) {
+            this.heuristic = heuristic;
+            this.pending = new AtomicLong(threads);
+            this.workers = new Worker[threads];
+            for (int i = 0; i < threads; i++) {
+                workers[i] = new Worker(this, i);
+            }
+        }
+
+        // Worker owning a state
+        int owner(long state) {
+            return (LongHashSet.mix(state) >>> 1) % workers.length;
+        }
+
+        // Offer a goal node as the new incumbent if it is cheaper
+        void offer(Node goal) {
+            Node current = incumbent.get();
+            while (current == null || goal.cost < current.cost) {
+                if (incumbent.compareAndSet(current, goal)) return;
+                current = incumbent.get();
+            }
+        }
+
+        // Cost of the incumbent, or Integer.MAX_VALUE while no goal has been found
+        int incumbentCost() {
+            Node current = incumbent.get();
+            return current == null ? Integer.MAX_VALUE : current.cost;
+        }
+
+        // Record a failure; every worker checks it and leaves its loop
+        void abort(Throwable cause) {
+            error.compareAndSet(null, cause);
+        }
+    }
+
+    // One partition of the search: private open list and best costs, plus an inbox
+    private static class Worker implements Runnable {
+        private final Search search;
+        private final int id;
+        private final BucketQueue open = new BucketQueue(AStar.MAX_F);
+        private final LongIntHashMap bestCost = new LongIntHashMap(1 << 10);
+        private final ConcurrentLinkedQueue<Node[]> inbox = new ConcurrentLinkedQueue<>();
+
+        // Outgoing nodes buffered per destination worker
+        private final Node[][] outbox;
+        private final int[] outboxSize;
+
+        // Nodes expanded by this worker (read after the thread has been joined)
+        long expanded;
+
+        Worker(Search search, int id) {
+            this.search = search;
+            this.id = id;
+            this.outbox = new Node[search.workers.length][BATCH_SIZE];
+            this.outboxSize = new int[search.workers.length];
+        }
+
+        @Override
+        public void run() {
+            try {
+                work();
+            } catch (Throwable e) {
+                search.abort(e);
+            }
+        }
+
+        private void work() {
+            while (search.error.get() == null) {
+                drainInbox();
+
+                if (!open.isEmpty()) {
+                    expand(open.remove());
+                    if (++expanded % FLUSH_INTERVAL == 0) {
+                        flush();
+                    }
+                    continue;
+                }
+
+                // Out of local work: send everything buffered before going idle
+                if (flush()) {
+                    continue;
+                }
+
+                // Release the busy token and wait for either a message or global termination
+                search.pending.decrementAndGet();
+                if (!awaitWork()) {
+                    return;
+                }
+            }
+        }
+
+        // Wait until the inbox has a message (reacquiring the busy token) or the search is over
+        private boolean awaitWork() {
+            int spins = 0;
+            while (search.error.get() == null) {
+                if (!inbox.isEmpty()) {
+                    // Messages in the inbox still hold tokens, so pending cannot have reached zero
+                    search.pending.incrementAndGet();
+                    return true;
+                }
+                if (search.pending.get() == 0) {
+                    return false;
+                }
+                if (++spins < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(50_000);
+                }
+            }
+
+            return false;
+        }
+
+        // Move every received node into the open list, then release the message tokens
+        private void drainInbox() {
+            Node[] batch;
+            while ((batch = inbox.poll()) != null) {
+                for (Node node : batch) {
+                    receive(node);
+                }
+                search.pending.addAndGet(-batch.length);
+            }
+        }
+
+        // Accept a node owned by this worker unless it is pruned or not an improvement
+        void receive(Node node) {
+            if (node.priority >= search.incumbentCost()) return;
+            if (bestCost.get(node.board, Integer.MAX_VALUE) <= node.cost) return;
+
+            bestCost.put(node.board, node.cost);
+            open.insert(node);
+        }
+
+        private void expand(Node current) {
+            // Pruned by a goal found since it was queued, or superseded by a cheaper copy
+            if (current.priority >= search.incumbentCost()) return;
+            if (bestCost.get(current.board, Integer.MAX_VALUE) < current.cost) return;
+
+            if (PackedBoard.isGoal(current.board)) {
+                search.offer(current);
+                return;
+            }
+
+            int h = current.priority - current.cost;
+            int blankCell = current.blankRow * N + current.blankColumn;
+            for (int i = 0; i < 4; i++) {
+                // Skip the move that would undo the previous one
+                if (current.previousDirection != -1 && (i ^ 1) == current.previousDirection) continue;
+
+                int newRow = current.blankRow + AStar.dx[i];
+                int newColumn = current.blankColumn + AStar.dy[i];
+                if (newRow < 0 || newRow >= N || newColumn < 0 || newColumn >= N) continue;
+
+                int targetCell = newRow * N + newColumn;
+                long newGrid = PackedBoard.move(current.board, blankCell, targetCell);
+                int tile = PackedBoard.get(current.board, targetCell);
+                int estimate = search.heuristic.update(current.board, newGrid, h, tile, targetCell, blankCell);
+                Node child = new Node(newGrid, newRow, newColumn, current, current.cost + 1, estimate, i);
+
+                int owner = search.owner(newGrid);
+                if (owner == id) {
+                    receive(child);
+                } else if (child.priority < search.incumbentCost()) {
+                    send(owner, child);
+                }
+            }
+        }
+
+        // Buffer a node for another worker, sending the batch once it is full
+        private void send(int owner, Node node) {
+            outbox[owner][outboxSize[owner]++] = node;
+            if (outboxSize[owner] == BATCH_SIZE) {
+                flush(owner);
+            }
+        }
+
+        // Send every non-empty buffer; returns true if anything was sent
+        private boolean flush() {
+            boolean sent = false;
+            for (int owner = 0; owner < outbox.length; owner++) {
+                if (outboxSize[owner] > 0) {
+                    flush(owner);
+                    sent = true;
+                }
+            }
+
+            return sent;
+        }
+
+        // The tokens are added before the batch becomes visible, so pending never drops to zero early
+        private void flush(int owner) {
+            Node[] batch = Arrays.copyOf(outbox[owner], outboxSize[owner]);
+            Arrays.fill(outbox[owner], 0, outboxSize[owner], null);
+            outboxSize[owner] = 0;
+
+            search.pending.addAndGet(batch.length);
+            search.workers[owner].inbox.offer(batch);
+        }
+    }
+}
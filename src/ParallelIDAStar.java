@@ -0,0 +1,201 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Parallel IDA* solver.
+ * The root is expanded breadth-first to a fixed frontier depth; in every threshold iteration
+ * each frontier node is searched as its own ForkJoin task with a private board and path buffer.
+ * Tasks share only lock-free state: a "found" flag, the solution, and the minimum f value above
+ * the threshold (the next threshold). Any solution found within a threshold is optimal, so the
+ * first one stops all sibling tasks.
+ * The calling thread waits interruptibly; when it is interrupted (e.g. by a BatchSolver timeout)
+ * the same flag stops every task and the search gives up with a CancellationException.
+ */
+public class ParallelIDAStar implements Solver {
+    private final Heuristic heuristic;     // Admissible estimate of the remaining cost
+    private final ForkJoinPool pool;       // Workers searching the frontier subtrees
+    private final int frontierDepth;       // Depth at which the root is split into tasks
+
+    // Create a parallel solver using all cores, the Manhattan heuristic and a frontier depth of 8
+    public ParallelIDAStar() {
+        this(new ManhattanHeuristic(), Runtime.getRuntime().availableProcessors(), 8);
+    }
+
+    // Create a parallel solver with the given heuristic, number of threads and frontier depth
+    public ParallelIDAStar(Heuristic heuristic, int threads, int frontierDepth) {
+        this.heuristic = heuristic;
+        this.pool = new ForkJoinPool(threads);
+        this.frontierDepth = frontierDepth;
+    }
+
+    // Public method to solve a given 15-puzzle using parallel IDA*
+    public SolveResult search(int[][] puzzle) {
+        long startTime = System.nanoTime();
+
+        // Validate input
+        if (!Helper.isValid(puzzle)) {
+            return new SolveResult(Helper.INVALID_PUZZLE_MESSAGE, 0, 0, System.nanoTime() - startTime);
+        }
+
+        long start = PackedBoard.pack(puzzle);
+
+        // Check for solvable
+        if (!Helper.isSolvable(puzzle)) {
+            return new SolveResult(Helper.UNSOLVABLE_MESSAGE, start, 0, System.nanoTime() - startTime);
+        }
+
+        // Expand the root breadth-first; a goal found on the way is at optimal depth
+        AtomicLong nodes = new AtomicLong();
+        List<Frontier> frontier = new ArrayList<>();
+        frontier.add(new Frontier(start, PackedBoard.blankPosition(start), -1, MovePruning.START,
+                heuristic.estimate(start), ""));
+        for (int depth = 0; depth < frontierDepth; depth++) {
+            List<Frontier> next = new ArrayList<>();
+            for (Frontier node : frontier) {
+                if (PackedBoard.isGoal(node.board)) {
+                    return new SolveResult(node.path, node.board, nodes.get(), System.nanoTime() - startTime);
+                }
+                node.expand(heuristic, next);
+                nodes.incrementAndGet();
+            }
+            frontier = next;
+        }
+
+        int threshold = heuristic.estimate(start);
+        while (true) {
+            AtomicBoolean found = new AtomicBoolean();
+            AtomicReference<String> solution = new AtomicReference<>();
+            AtomicInteger nextThreshold = new AtomicInteger(Integer.MAX_VALUE);
+
+            List<SubtreeSearch> tasks = new ArrayList<>(frontier.size());
+            for (Frontier node : frontier) {
+                tasks.add(new SubtreeSearch(heuristic, node, frontierDepth, threshold, found, solution, nextThreshold, nodes));
+            }
+            ForkJoinTask<Void> iteration = pool.submit(new RecursiveAction() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            });
+            try {
+                iteration.get();
+            } catch (InterruptedException e) {
+                // Stop every subtree through the shared flag, wait for the workers to leave and
+                // report the cancellation
+                found.set(true);
+                iteration.quietlyJoin();
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Search interrupted");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                throw new RuntimeException("Parallel IDA* failed", e.getCause());
+            }
+
+            // Solution found
+            if (solution.get() != null) {
+                return new SolveResult(solution.get(), PackedBoard.GOAL, nodes.get(), System.nanoTime() - startTime);
+            }
+
+            // No more paths to explore
+            if (nextThreshold.get() == Integer.MAX_VALUE) {
+                throw new RuntimeException("Unsolvable puzzle");
+            }
+
+            // Increase threshold and continue
+            threshold = nextThreshold.get();
+        }
+    }
+
+    // Shut down the worker threads
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // A node of the frontier: its board, blank, last move, heuristic value and path from the root
+    private static class Frontier {
+        final long board;
+        final int blank;
+        final int previousDirection;
+        final int state;
+        final int h;
+        final String path;
+
+        Frontier(long board, int blank, int previousDirection, int state, int h, String path) {
+            this.board = board;
+            this.blank = blank;
+            this.previousDirection = previousDirection;
+            this.state = state;
+            this.h = h;
+            this.path = path;
+        }
+
+        // Add every child (except the one undoing the last move) to "next"
+        void expand(Heuristic heuristic, List<Frontier> next) {
+            for (int move : BlankMoves.of(blank, previousDirection)) {
+                int direction = BlankMoves.direction(move);
+                int target = BlankMoves.target(move);
+                int nextState = MovePruning.all().next(state, direction);
+                if (nextState < 0) continue;
+
+                long child = PackedBoard.move(board, blank, target);
+                int childH = heuristic.update(board, child, h, PackedBoard.get(board, target), target, blank);
+                next.add(new Frontier(child, target, direction, nextState, childH, path + IDAStar.moveChar[direction]));
+            }
+        }
+    }
+
+    // Depth-first search of one frontier subtree within the current threshold
+    private static class SubtreeSearch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Heuristic heuristic;
+        private final Frontier node;
+        private final int cost;
+        private final int threshold;
+        private final AtomicBoolean found;
+        private final AtomicReference<String> solution;
+        private final AtomicInteger nextThreshold;
+        private final AtomicLong nodes;
+
+        SubtreeSearch(Heuristic heuristic, Frontier node, int cost, int threshold, AtomicBoolean found,
+                      AtomicReference<String> solution, AtomicInteger nextThreshold, AtomicLong nodes) {
+            this.heuristic = heuristic;
+            this.node = node;
+            this.cost = cost;
+            this.threshold = threshold;
+            this.found = found;
+            this.solution = solution;
+            this.nextThreshold = nextThreshold;
+            this.nodes = nodes;
+        }
+
+        @Override
+        protected void compute() {
+            if (found.get()) return;
+
+            IDAStar.Search search = new IDAStar.Search(heuristic, node.board, threshold, found);
+            int t = search.dfs(node.blank, cost, node.previousDirection, node.state, node.h);
+            nodes.addAndGet(search.nodes);
+
+            if (search.solution != null) {
+                // The first solution of this threshold wins; it stops every other subtree
+                if (found.compareAndSet(false, true)) {
+                    solution.set(node.path + search.solution);
+                }
+            } else if (t != -1) {
+                nextThreshold.accumulateAndGet(t, Math::min);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Multi-threaded pattern database generator.
+ * Runs the same layer-by-layer 0-1 BFS as PatternDatabaseBuilder, but each layer scan is split
+ * into ForkJoin tasks over ranges of the depth array, so idle workers steal the remaining ranges.
+ * States are claimed with a lock-free compareAndSet on the nibble array, and layers are
+ * separated by joining all tasks, so the tables are identical to the sequential builder's.
+ *
+ * Usage: java ParallelPatternDatabaseBuilder (6-6-3 | 7-8) output-file [threads]
+ */
+public class ParallelPatternDatabaseBuilder {
+    // Number of states scanned by one task without splitting further
+    private static final long LEAF_SIZE = 1 << 16;
+
+    // Pool running the layer scans
+    private final ForkJoinPool pool;
+
+    // Statistics of the last build
+    private long statesVisited;
+    private long elapsedNanos;
+
+    // Create a builder using all available cores
+    public ParallelPatternDatabaseBuilder() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    // Create a builder using the given number of threads
+    public ParallelPatternDatabaseBuilder(int threads) {
+        pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * Build the pattern database for a partition, recording states visited and elapsed time
+     */
+    public PatternDatabase build(int[][] partition) {
+        int[][] groups = PatternDatabase.validate(partition);
+        byte[][] distances = new byte[groups.length][];
+
+        long start = System.nanoTime();
+        statesVisited = 0;
+        for (int i = 0; i < groups.length; i++) {
+            distances[i] = buildTable(groups[i]);
+        }
+        elapsedNanos = System.nanoTime() - start;
+
+        return PatternDatabase.fromDistances(groups, distances);
+    }
+
+    /**
+     * Generate the distance table of one group (same result as PatternDatabaseBuilder.buildTable)
+     */
+    public byte[] buildTable(int[] group) {
+        NibbleArray depth = PatternDatabaseBuilder.newDepthArray(group.length);
+        byte[] table = PatternDatabaseBuilder.newTable(group.length);
+        statesVisited += PatternDatabaseBuilder.visitGoal(group, depth, table);
+
+        for (int d = 0; ; d++) {
+            long added = pool.invoke(new LayerScan(depth, table, group.length, 0, depth.length(), d));
+            if (added == 0) break;
+            statesVisited += added;
+        }
+
+        return table;
+    }
+
+    // Number of abstract states reached by the last build
+    public long getStatesVisited() {
+        return statesVisited;
+    }
+
+    // Wall-clock time of the last build in nanoseconds
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // Build throughput of the last build
+    public double getStatesPerSecond() {
+        return elapsedNanos == 0 ? 0 : statesVisited * 1e9 / elapsedNanos;
+    }
+
+    // Shut down the worker threads
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Scan of one range of the depth array for a layer, split in halves until small enough
+    private static class LayerScan extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final NibbleArray depth;
+        private final byte[] table;
+        private final int k;
+        private final long from;
+        private final long to;
+        private final int d;
+
+        LayerScan(NibbleArray depth, byte[] table, int k, long from, long to, int d) {
+            this.depth = depth;
+            this.table = table;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+            this.d = d;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= LEAF_SIZE) {
+                return PatternDatabaseBuilder.scanLayer(depth, table, k, from, to, d);
+            }
+
+            long middle = from + (to - from) / 2;
+            LayerScan right = new LayerScan(depth, table, k, middle, to, d);
+            right.fork();
+            long added = new LayerScan(depth, table, k, from, middle, d).compute();
+            return added + right.join();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: java ParallelPatternDatabaseBuilder (6-6-3 | 7-8) output-file [threads]");
+            return;
+        }
+
+        int[][] partition = args[0].equals("7-8") ? PatternDatabase.PARTITION_7_8 : PatternDatabase.PARTITION_6_6_3;
+        ParallelPatternDatabaseBuilder builder = args.length > 2
+                ? new ParallelPatternDatabaseBuilder(Integer.parseInt(args[2]))
+                : new ParallelPatternDatabaseBuilder();
+
+        PatternDatabase database = builder.build(partition);
+        builder.shutdown();
+        PatternDatabaseFile.write(database, Path.of(args[1]));
+
+        System.out.println(String.format("%d states in %d ms (%.0f states/sec)",
+                builder.getStatesVisited(), builder.getElapsedNanos() / 1_000_000, builder.getStatesPerSecond()));
+    }
+}
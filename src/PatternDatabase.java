@@ -0,0 +1,276 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Additive disjoint pattern database heuristic.
+ * The 15 tiles are split into disjoint groups; for each group a table stores the exact
+ * number of moves of that group's tiles needed to bring them home, ignoring all other tiles.
+ * Only moves of a group's own tiles are counted, so the group values can be summed
+ * and the total is still admissible (and never lower than the Manhattan distance).
+ *
+ * Each entry is stored in 4 bits as (distance - Manhattan distance of the group) / 2:
+ * a group move changes the Manhattan distance by exactly 1, so the difference is always even,
+ * and values above 15 are clamped (which only weakens the estimate). Tables are byte buffers,
+ * either on the heap after a build or memory-mapped from a file (see PatternDatabaseFile).
+ */
+public class PatternDatabase implements Heuristic {
+    // Standard 6-6-3 partition: left half, right half and the rest of the top row
+    public static final int[][] PARTITION_6_6_3 = {
+            {1, 5, 6, 9, 10, 13},
+            {7, 8, 11, 12, 14, 15},
+            {2, 3, 4}
+    };
+
+    // Standard 7-8 partition: top seven tiles and bottom eight tiles
+    public static final int[][] PARTITION_7_8 = {
+            {1, 2, 3, 4, 5, 6, 7},
+            {8, 9, 10, 11, 12, 13, 14, 15}
+    };
+
+    // Largest supported group: 16!/8! table entries still fit in a Java array
+    public static final int MAX_GROUP_SIZE = 8;
+
+    // Tiles of each group
+    private final int[][] groups;
+
+    // Largest value of a 4-bit entry
+    private static final int MAX_ENTRY = 15;
+
+    // Packed tables, one per group, indexed by the rank of the group's tile positions
+    private final ByteBuffer[] tables;
+
+    // Index of the group containing each tile (-1 for tiles outside the partition)
+    private final int[] groupOfTile = new int[PackedBoard.SIZE];
+
+    // Constructor used once every table has been generated or mapped
+    PatternDatabase(int[][] groups, ByteBuffer[] tables) {
+        this.groups = groups;
+        this.tables = tables;
+
+        Arrays.fill(groupOfTile, -1);
+        for (int i = 0; i < groups.length; i++) {
+            for (int tile : groups[i]) {
+                groupOfTile[tile] = i;
+            }
+        }
+    }
+
+    /**
+     * Build the pattern database for a partition by backward breadth-first search from the goal.
+     * Takes about 35 seconds on one core for 6-6-3 and much longer (and several GB) for 7-8.
+     */
+    public static PatternDatabase build(int[][] partition) {
+        int[][] groups = validate(partition);
+        byte[][] distances = new byte[groups.length][];
+        for (int i = 0; i < groups.length; i++) {
+            distances[i] = PatternDatabaseBuilder.buildTable(groups[i]);
+        }
+
+        return fromDistances(groups, distances);
+    }
+
+    // Create a pattern database from tables of exact distances (one per group)
+    static PatternDatabase fromDistances(int[][] groups, byte[][] distances) {
+        ByteBuffer[] tables = new ByteBuffer[groups.length];
+        for (int i = 0; i < groups.length; i++) {
+            tables[i] = ByteBuffer.wrap(encode(groups[i], distances[i]));
+        }
+
+        return new PatternDatabase(groups, tables);
+    }
+
+    /**
+     * Sum of the table values of every group
+     */
+    public int estimate(long board) {
+        long inverse = PackedBoard.invert(board);
+        int distance = 0;
+        for (int i = 0; i < groups.length; i++) {
+            distance += lookup(inverse, groups[i], tables[i]);
+        }
+
+        return distance;
+    }
+
+    /**
+     * Only the group of the moved tile changes, so re-read just that group's entry
+     * for the parent and the child. Both share the positions of the group's other tiles, which
+     * are located directly on the child board (no full inversion), and differ only in the moved
+     * tile, at "from" in the parent and "to" in the child.
+     */
+    public int update(long parent, long child, int h, int tile, int from, int to) {
+        int group = groupOfTile[tile];
+        if (group < 0) return h;
+
+        int[] tiles = groups[group];
+        int parentRank = 0;
+        int childRank = 0;
+        int parentUsed = 0;
+        int childUsed = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            int position = tiles[i] == tile ? to : PackedBoard.positionOf(child, tiles[i]);
+            int parentPosition = tiles[i] == tile ? from : position;
+            childRank = childRank * (PackedBoard.SIZE - i) + position
+                    - Integer.bitCount(childUsed & ((1 << position) - 1));
+            childUsed |= 1 << position;
+            parentRank = parentRank * (PackedBoard.SIZE - i) + parentPosition
+                    - Integer.bitCount(parentUsed & ((1 << parentPosition) - 1));
+            parentUsed |= 1 << parentPosition;
+        }
+
+        return h + PackedBoard.manhattan(tile, to) - PackedBoard.manhattan(tile, from)
+                + ((entry(tables[group], childRank) - entry(tables[group], parentRank)) << 1);
+    }
+
+    // Table value of one group: Manhattan distance of its tiles plus twice the stored nibble
+    private static int lookup(long inverse, int[] group, ByteBuffer table) {
+        int rank = 0;
+        int used = 0;
+        int manhattan = 0;
+        for (int i = 0; i < group.length; i++) {
+            int position = (int) (inverse >>> (group[i] << 2)) & 0xF;
+            rank = rank * (PackedBoard.SIZE - i) + position - Integer.bitCount(used & ((1 << position) - 1));
+            used |= 1 << position;
+            manhattan += PackedBoard.manhattan(group[i], position);
+        }
+
+        return manhattan + (entry(table, rank) << 1);
+    }
+
+    // 4-bit entry of a table at "rank"
+    private static int entry(ByteBuffer table, int rank) {
+        return (table.get(rank >>> 1) >>> ((rank & 1) << 2)) & 0xF;
+    }
+
+    /**
+     * Pack a table of exact distances into 4-bit entries, two per byte (low nibble first)
+     */
+    static byte[] encode(int[] group, byte[] distances) {
+        byte[] packed = new byte[(distances.length + 1) / 2];
+        int[] positions = new int[group.length];
+        for (int rank = 0; rank < distances.length; rank++) {
+            unrank(rank, positions);
+            int manhattan = 0;
+            for (int i = 0; i < group.length; i++) {
+                manhattan += PackedBoard.manhattan(group[i], positions[i]);
+            }
+
+            int entry = Math.min(((distances[rank] & 0xFF) - manhattan) >> 1, MAX_ENTRY);
+            packed[rank >>> 1] |= (byte) (entry << ((rank & 1) << 2));
+        }
+
+        return packed;
+    }
+
+    // Groups of the partition (shared, not copied) for PatternDatabaseFile
+    int[][] groups() {
+        return groups;
+    }
+
+    // Packed tables for PatternDatabaseFile
+    ByteBuffer[] tables() {
+        return tables;
+    }
+
+    // Tiles of each group (a copy)
+    public int[][] getPartition() {
+        int[][] copy = new int[groups.length][];
+        for (int i = 0; i < groups.length; i++) {
+            copy[i] = groups[i].clone();
+        }
+
+        return copy;
+    }
+
+    /**
+     * Number of ways to place k distinct tiles on the 16 cells: 16! / (16 - k)!
+     */
+    public static long placements(int k) {
+        long count = 1;
+        for (int i = 0; i < k; i++) {
+            count *= PackedBoard.SIZE - i;
+        }
+
+        return count;
+    }
+
+    /**
+     * Rank the positions of a group's tiles, read from an inverted board (see PackedBoard.invert),
+     * into 0 .. placements(k) - 1
+     */
+    static int rank(long inverse, int[] group) {
+        int rank = 0;
+        int used = 0;
+        for (int i = 0; i < group.length; i++) {
+            int position = (int) (inverse >>> (group[i] << 2)) & 0xF;
+            rank = rank * (PackedBoard.SIZE - i) + position - Integer.bitCount(used & ((1 << position) - 1));
+            used |= 1 << position;
+        }
+
+        return rank;
+    }
+
+    /**
+     * Rank an explicit list of distinct positions into 0 .. placements(length) - 1
+     */
+    static int rank(int[] positions) {
+        int rank = 0;
+        int used = 0;
+        for (int i = 0; i < positions.length; i++) {
+            int position = positions[i];
+            rank = rank * (PackedBoard.SIZE - i) + position - Integer.bitCount(used & ((1 << position) - 1));
+            used |= 1 << position;
+        }
+
+        return rank;
+    }
+
+    /**
+     * Decode a rank back into the positions of the group tiles (inverse of rank(int[]))
+     */
+    static void unrank(long rank, int[] positions) {
+        int k = positions.length;
+        for (int i = k - 1; i >= 0; i--) {
+            positions[i] = (int) (rank % (PackedBoard.SIZE - i));
+            rank /= PackedBoard.SIZE - i;
+        }
+
+        // Turn each digit into the digit-th cell still free
+        int used = 0;
+        for (int i = 0; i < k; i++) {
+            positions[i] = nthFreeCell(used, positions[i]);
+            used |= 1 << positions[i];
+        }
+    }
+
+    // Position of the n-th (0-based) cell not in "used"
+    static int nthFreeCell(int used, int n) {
+        int free = ~used & 0xFFFF;
+        for (; n > 0; n--) {
+            free &= free - 1;
+        }
+
+        return Integer.numberOfTrailingZeros(free);
+    }
+
+    // Check that the partition uses each tile 1..15 at most once in groups of supported size
+    static int[][] validate(int[][] partition) {
+        boolean[] seen = new boolean[PackedBoard.SIZE];
+        int[][] groups = new int[partition.length][];
+        for (int i = 0; i < partition.length; i++) {
+            int[] group = partition[i];
+            if (group.length == 0 || group.length > MAX_GROUP_SIZE) {
+                throw new IllegalArgumentException("Pattern groups must hold 1 to " + MAX_GROUP_SIZE + " tiles");
+            }
+            for (int tile : group) {
+                if (tile < 1 || tile >= PackedBoard.SIZE || seen[tile]) {
+                    throw new IllegalArgumentException("Invalid or repeated tile in partition: " + tile);
+                }
+                seen[tile] = true;
+            }
+            groups[i] = group.clone();
+        }
+
+        return groups;
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Sequential generator of pattern database tables (see ParallelPatternDatabaseBuilder for the
+ * multi-threaded version, which shares the layer scan below).
+ * The abstract state is the position of each group tile plus the blank. Moving the blank
+ * over a tile outside the group is free, moving it over a group tile costs 1, so the search
+ * is a 0-1 breadth-first search from the goal done one layer at a time: each layer scans the
+ * whole depth array, and every state reached with a costly move is expanded together with the
+ * whole free region of cells the blank can then reach at no cost. Each state is expanded once.
+ */
+public class PatternDatabaseBuilder {
+    // State nibble of a state that has not been reached yet
+    static final int UNVISITED = 15;
+
+    // State nibble of a state that has been expanded; a reached state waiting for expansion holds
+    // the parity of its depth, so a layer never picks up states of the layer it is filling
+    static final int EXPANDED = 14;
+
+    // Cells that have no neighbour to the left / right
+    private static final int FIRST_COLUMN = 0x1111;
+    private static final int LAST_COLUMN = 0x8888;
+
+    /**
+     * Generate the distance table of one group, indexed by PatternDatabase.rank
+     */
+    public static byte[] buildTable(int[] group) {
+        NibbleArray depth = newDepthArray(group.length);
+        byte[] table = newTable(group.length);
+        visitGoal(group, depth, table);
+
+        for (int d = 0; scanLayer(depth, table, group.length, 0, depth.length(), d) > 0; d++) {
+            // each pass expands layer d and fills layer d + 1
+        }
+
+        return table;
+    }
+
+    // Depth array covering every (group placement, blank position) state, all unvisited
+    static NibbleArray newDepthArray(int k) {
+        return new NibbleArray(PatternDatabase.placements(k) * (PackedBoard.SIZE - k), UNVISITED);
+    }
+
+    // Distance table with every entry unset (-1)
+    static byte[] newTable(int k) {
+        byte[] table = new byte[(int) PatternDatabase.placements(k)];
+        java.util.Arrays.fill(table, (byte) -1);
+        return table;
+    }
+
+    // Goal: every group tile at home, blank anywhere it can reach from its home cell for free.
+    // Returns the number of goal states
+    static long visitGoal(int[] group, NibbleArray depth, byte[] table) {
+        int[] positions = new int[group.length];
+        int occupied = 0;
+        for (int i = 0; i < group.length; i++) {
+            positions[i] = group[i] - 1;
+            occupied |= 1 << positions[i];
+        }
+
+        return visit(depth, table, positions, occupied, freeRegion(PackedBoard.SIZE - 1, occupied), 0);
+    }
+
+    // Expand every state of layer d with an index in [from, to), returning the number of new states
+    static long scanLayer(NibbleArray depth, byte[] table, int k, long from, long to, int d) {
+        int[] positions = new int[k];
+        int[] next = new int[k];
+        int layer = d & 1;
+
+        long added = 0;
+        for (long index = from; index < to; index++) {
+            if (depth.get(index) != layer) continue;
+            // Only this scan holds the index, but neighbouring nibbles may change concurrently
+            depth.compareAndSet(index, layer, EXPANDED);
+            added += expand(depth, table, index, positions, next, d);
+        }
+
+        return added;
+    }
+
+    // Expand one state of layer d: move the blank over each neighbouring group tile
+    static long expand(NibbleArray depth, byte[] table, long index, int[] positions, int[] next, int d) {
+        int blank = unrank(index, positions);
+        int occupied = 0;
+        for (int position : positions) {
+            occupied |= 1 << position;
+        }
+
+        long added = 0;
+        for (int direction = 0; direction < 4; direction++) {
+            int target = neighbour(blank, direction);
+            if (target < 0 || (occupied & (1 << target)) == 0) continue;
+
+            // The group tile at "target" slides into the blank
+            for (int i = 0; i < positions.length; i++) {
+                next[i] = positions[i] == target ? blank : positions[i];
+            }
+            int nextOccupied = occupied ^ (1 << target) ^ (1 << blank);
+            added += visit(depth, table, next, nextOccupied, freeRegion(target, nextOccupied), d + 1);
+        }
+
+        return added;
+    }
+
+    // Mark every state of a placement whose blank lies in "region" as reached at depth d.
+    // Safe to run concurrently within a layer: states are claimed with compareAndSet, and racing
+    // writers of the same table entry all write the same depth d
+    static long visit(NibbleArray depth, byte[] table, int[] positions, int occupied, int region, int d) {
+        int rank = PatternDatabase.rank(positions);
+        if (table[rank] == -1) table[rank] = (byte) d;
+
+        long base = (long) rank * (PackedBoard.SIZE - positions.length);
+        long added = 0;
+        for (int cells = region; cells != 0; cells &= cells - 1) {
+            int cell = Integer.numberOfTrailingZeros(cells);
+            long index = base + cell - Integer.bitCount(occupied & ((1 << cell) - 1));
+            if (depth.compareAndSet(index, UNVISITED, d & 1)) {
+                added++;
+            }
+        }
+
+        return added;
+    }
+
+    // Decode a state index into the group positions, returning the blank position
+    static int unrank(long index, int[] positions) {
+        int blankRadix = PackedBoard.SIZE - positions.length;
+        PatternDatabase.unrank(index / blankRadix, positions);
+
+        int used = 0;
+        for (int position : positions) {
+            used |= 1 << position;
+        }
+
+        return PatternDatabase.nthFreeCell(used, (int) (index % blankRadix));
+    }
+
+    // Cells reachable by the blank from "start" without crossing an occupied cell, as a bit mask
+    static int freeRegion(int start, int occupied) {
+        int free = ~occupied & 0xFFFF;
+        int region = 1 << start;
+        int previous;
+        do {
+            previous = region;
+            region |= ((region << 4) | (region >>> 4)
+                    | ((region << 1) & ~FIRST_COLUMN) | ((region >>> 1) & ~LAST_COLUMN)) & free;
+        } while (region != previous);
+
+        return region;
+    }
+
+    // Neighbouring cell of "position" in the given direction (down, up, right, left), or -1
+    static int neighbour(int position, int direction) {
+        int row = position / PackedBoard.N;
+        int column = position % PackedBoard.N;
+        switch (direction) {
+            case 0:
+                return row < PackedBoard.N - 1 ? position + PackedBoard.N : -1;
+            case 1:
+                return row > 0 ? position - PackedBoard.N : -1;
+            case 2:
+                return column < PackedBoard.N - 1 ? position + 1 : -1;
+            default:
+                return column > 0 ? position - 1 : -1;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Binary file format for pattern databases, opened through a memory-mapped FileChannel.
+ * Lookups read the mapped pages directly, so loading is a few system calls regardless of
+ * the table size and every process that maps the same file shares the same physical pages.
+ *
+ * Layout (big-endian), header padded to HEADER_SIZE bytes so the tables are page aligned:
+ * <pre>
+ *   int   MAGIC ("PDB4")
+ *   int   VERSION
+ *   int   number of groups
+ *   per group: int tile count, then one int per tile
+ *   long  CRC32 of all table bytes
+ *   ...   padding up to HEADER_SIZE
+ *   table of each group in order: placements(k) 4-bit entries, two per byte (low nibble first)
+ * </pre>
+ */
+public final class PatternDatabaseFile {
+    // File signature: "PDB4" (pattern database, 4-bit entries)
+    public static final int MAGIC = 0x50444234;
+
+    // Format version, bumped on any incompatible layout change
+    public static final int VERSION = 1;
+
+    // Size of the header block; the first table starts at this offset
+    public static final int HEADER_SIZE = 4096;
+
+    private PatternDatabaseFile() {
+    }
+
+    /**
+     * Write a pattern database to a file, replacing any existing file. The data goes to a temporary
+     * file in the same directory that is then renamed over the target in one atomic step, so other
+     * processes see either the old file or the complete new one, and pages they have mapped from
+     * the old file stay valid.
+     */
+    public static void write(PatternDatabase database, Path path) throws IOException {
+        int[][] groups = database.groups();
+        ByteBuffer[] tables = database.tables();
+
+        CRC32 crc = new CRC32();
+        for (ByteBuffer table : tables) {
+            crc.update(table.duplicate().clear());
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(groups.length);
+        for (int[] group : groups) {
+            header.putInt(group.length);
+            for (int tile : group) {
+                header.putInt(tile);
+            }
+        }
+        header.putLong(crc.getValue());
+        header.clear();
+
+        Path directory = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                writeFully(channel, header);
+                for (ByteBuffer table : tables) {
+                    writeFully(channel, table.duplicate().clear());
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Map a pattern database file without reading the tables
+     */
+    public static PatternDatabase map(Path path) throws IOException {
+        return map(path, false);
+    }
+
+    /**
+     * Map a pattern database file; if verifyChecksum is true every table page is read once
+     * to check the CRC32 (slow for large tables, meant for tooling and tests)
+     */
+    public static PatternDatabase map(Path path, boolean verifyChecksum) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not a pattern database file: " + path);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete
+            }
+            header.flip();
+
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a pattern database file: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported pattern database version " + version + ": " + path);
+            }
+
+            int groupCount = header.getInt();
+            if (groupCount < 1 || groupCount >= PackedBoard.SIZE) {
+                throw new IOException("Corrupt pattern database header: " + path);
+            }
+            int[][] partition = new int[groupCount][];
+            for (int i = 0; i < partition.length; i++) {
+                int tileCount = header.getInt();
+                if (tileCount < 1 || tileCount > PatternDatabase.MAX_GROUP_SIZE) {
+                    throw new IOException("Corrupt pattern database header: " + path);
+                }
+                partition[i] = new int[tileCount];
+                for (int j = 0; j < partition[i].length; j++) {
+                    partition[i][j] = header.getInt();
+                }
+            }
+            long checksum = header.getLong();
+
+            int[][] groups;
+            try {
+                groups = PatternDatabase.validate(partition);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt pattern database header: " + path, e);
+            }
+
+            // Map each table; the mapping stays valid after the channel is closed
+            ByteBuffer[] tables = new ByteBuffer[groups.length];
+            long offset = HEADER_SIZE;
+            for (int i = 0; i < groups.length; i++) {
+                long size = tableSize(groups[i].length);
+                if (offset + size > channel.size()) {
+                    throw new IOException("Truncated pattern database file: " + path);
+                }
+                tables[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+                offset += size;
+            }
+
+            if (verifyChecksum) {
+                CRC32 crc = new CRC32();
+                for (ByteBuffer table : tables) {
+                    crc.update(table.duplicate());
+                }
+                if (crc.getValue() != checksum) {
+                    throw new IOException("Pattern database checksum mismatch: " + path);
+                }
+            }
+
+            return new PatternDatabase(groups, tables);
+        }
+    }
+
+    /**
+     * Map the file if it exists and holds the tables of the partition, otherwise build the pattern
+     * database for the partition and save it (replacing a file built for another partition). Safe
+     * to call from several processes at once: each one that builds replaces the file atomically
+     * with identical content.
+     */
+    public static PatternDatabase mapOrBuild(Path path, int[][] partition) throws IOException {
+        return mapOrBuild(path, partition, false);
+    }
+
+    /**
+     * Like mapOrBuild(path, partition), and if verifyChecksum is true an existing file is read
+     * once to check its CRC32 (see map)
+     */
+    public static PatternDatabase mapOrBuild(Path path, int[][] partition, boolean verifyChecksum)
+            throws IOException {
+        if (Files.exists(path)) {
+            PatternDatabase database = map(path, verifyChecksum);
+            if (Arrays.deepEquals(database.groups(), partition)) {
+                return database;
+            }
+        }
+
+        PatternDatabase database = PatternDatabase.build(partition);
+        write(database, path);
+        return database;
+    }
+
+    // Bytes used by the packed table of a group of k tiles
+    static long tableSize(int k) {
+        return (PatternDatabase.placements(k) + 1) / 2;
+    }
+
+    // Write the whole buffer (a single write call may be partial)
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -1,3 +1,5 @@
+import java.util.Arrays;
+
 public class PerformanceTests {
     public static void main(String[] args) {
         // Load a list of solvable 15-puzzle test cases
@@ -38,5 +40,16 @@ public class PerformanceTests {
             // Print results for A*
             System.out.println(String.format("%-10s %-15s %-10s %-50s", "A*", time2, isGoal2, moves2));
         }
+
+        // Solve all puzzles again as one concurrent batch (sharing the IDA* solver) and report throughput
+        try (BatchSolver batch = new BatchSolver(idaStar)) {
+            long start = System.nanoTime();
+            long solved = batch.solveAll(Arrays.asList(solvablePuzzles))
+                    .filter(result -> result.getStatus() == BatchSolver.Status.SOLVED)
+                    .count();
+            long time = System.nanoTime() - start;
+            System.out.println(String.format("Batch: %d/%d solved in %d ms on %d threads", solved,
+                    solvablePuzzles.length, time / 1_000_000, Runtime.getRuntime().availableProcessors()));
+        }
     }
 }
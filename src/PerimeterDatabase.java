@@ -0,0 +1,104 @@
+/**
+ * Perimeter (endgame) database: every state within "depth" moves of the goal with its exact
+ * distance, found by a breadth-first search backwards from the goal.
+ * IDA* stops descending as soon as it reaches a stored state, using the exact distance as the
+ * remaining cost, and any state that is not stored is known to need more than depth moves,
+ * which raises the heuristic near the goal where the search tree is widest.
+ *
+ * The database is immutable once built, so one instance can be shared by every solver and
+ * thread of a batch. Depth 14 holds about 62,000 states (under 2 MB) and builds in about 50 ms.
+ */
+public class PerimeterDatabase {
+    // Default radius of the perimeter around the goal
+    public static final int DEFAULT_DEPTH = 14;
+
+    private final int depth;                  // Radius of the perimeter
+    private final LongIntHashMap distances;   // Exact distance to the goal of every state inside
+
+    private PerimeterDatabase(int depth, LongIntHashMap distances) {
+        this.depth = depth;
+        this.distances = distances;
+    }
+
+    /**
+     * Build the perimeter of the given radius by breadth-first search from the goal
+     */
+    public static PerimeterDatabase build(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Depth must not be negative: " + depth);
+        }
+
+        LongIntHashMap distances = new LongIntHashMap(1 << 10);
+        distances.put(PackedBoard.GOAL, 0);
+        long[] layer = {PackedBoard.GOAL};
+        for (int distance = 1; distance <= depth; distance++) {
+            long[] next = new long[layer.length * 3];
+            int size = 0;
+            for (long board : layer) {
+                int blank = PackedBoard.blankPosition(board);
+                for (int move : BlankMoves.of(blank, -1)) {
+                    long child = PackedBoard.move(board, blank, BlankMoves.target(move));
+                    if (!distances.containsKey(child)) {
+                        distances.put(child, distance);
+                        next[size++] = child;
+                    }
+                }
+            }
+            layer = java.util.Arrays.copyOf(next, size);
+        }
+
+        return new PerimeterDatabase(depth, distances);
+    }
+
+    // Radius of the perimeter: states outside need at least depth + 1 moves
+    public int depth() {
+        return depth;
+    }
+
+    // Exact number of moves from "board" to the goal, or -1 if the board is outside the perimeter
+    public int distance(long board) {
+        return distances.get(board, -1);
+    }
+
+    /**
+     * Lower bound for a board outside the perimeter: depth + 1, or depth + 2 when the distance of
+     * the board has the other parity (every move changes the Manhattan distance by one, so the
+     * distance to the goal always has the parity of the Manhattan distance). Keeping the parity
+     * lets IDA* thresholds keep growing in steps of two.
+     */
+    public int outsideBound(long board) {
+        int bound = depth + 1;
+        return ((bound ^ PackedBoard.manhattan(board)) & 1) == 0 ? bound : bound + 1;
+    }
+
+    // Number of states inside the perimeter
+    public int size() {
+        return distances.size();
+    }
+
+    /**
+     * Optimal moves from a board inside the perimeter to the goal, following decreasing distances
+     */
+    public String path(long board) {
+        int distance = distance(board);
+        if (distance < 0) {
+            throw new IllegalArgumentException("Board is outside the perimeter");
+        }
+
+        StringBuilder path = new StringBuilder(distance);
+        while (distance > 0) {
+            int blank = PackedBoard.blankPosition(board);
+            for (int move : BlankMoves.of(blank, -1)) {
+                long child = PackedBoard.move(board, blank, BlankMoves.target(move));
+                if (distance(child) == distance - 1) {
+                    path.append(AStar.moveChar[BlankMoves.direction(move)]);
+                    board = child;
+                    break;
+                }
+            }
+            distance--;
+        }
+
+        return path.toString();
+    }
+}
@@ -1,10 +1,17 @@
+import java.io.IOException;
+import java.nio.file.Path;
+
 /**
  * Main class to run and evaluate the 15-puzzle solver using IDA* (Iterative Deepening A*)
+ * Usage: java RMIT_15_Puzzle_Solver [pattern-database-file]
  */
 public class RMIT_15_Puzzle_Solver {
-    public static void main(String[] args) {
-        // Create an instance of the IDA* solver
-        IDAStar solver = new IDAStar();
+    public static void main(String[] args) throws IOException {
+        // Create an instance of the IDA* solver; with a file argument, use the 6-6-3 pattern
+        // database mapped from that file (built and saved there on the first run)
+        IDAStar solver = args.length > 0
+                ? new IDAStar(PatternDatabaseFile.mapOrBuild(Path.of(args[0]), PatternDatabase.PARTITION_6_6_3))
+                : new IDAStar();
 
         // Load an array of solvable test cases (each one is a 4x4 puzzle)
         int[][][] solvableTests = SolvablePuzzle.testCases;
@@ -18,22 +25,17 @@ public class RMIT_15_Puzzle_Solver {
 
             Helper.print(solvableTests[i]);
 
-            // Record the start time before solving
-            long t0 = System.currentTimeMillis();
-
-            // Solve the puzzle and get the move sequence
-            String moves = solver.solve(solvableTests[i]);
-
-            // Record the end time after solving
-            long t1 = System.currentTimeMillis();
+            // Solve the puzzle; the result holds the move sequence, final board and timing
+            SolveResult result = solver.search(solvableTests[i]);
+            String moves = result.getMoves();
 
             // Display the solution: number of moves and time taken in milliseconds
-            System.out.println("Solution (" + moves.length() + " moves, " + (t1 - t0) + " ms):");
+            System.out.println("Solution (" + moves.length() + " moves, " + result.getElapsedNanos() / 1_000_000 + " ms):");
             System.out.println(moves);
 
             // Print the final board state after applying the moves
             System.out.println("Final:");
-            Helper.print(solver.getBoard());
+            Helper.print(result.getBoard());
 
             // Add an empty line for readability between test cases
             System.out.println();
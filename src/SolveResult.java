@@ -0,0 +1,45 @@
+/**
+ * Immutable outcome of one solve: the moves, the final board and search statistics.
+ * Solvers keep no per-solve state of their own, so everything a caller needs is returned here.
+ */
+public final class SolveResult {
+    private final String moves;          // Tile moves to the goal, or a Helper message
+    private final long board;            // Final board, packed 4 bits per tile
+    private final long nodesExpanded;    // Nodes expanded (A*) or visited (IDA*)
+    private final long elapsedNanos;     // Wall-clock time of the solve
+
+    public SolveResult(String moves, long board, long nodesExpanded, long elapsedNanos) {
+        this.moves = moves;
+        this.board = board;
+        this.nodesExpanded = nodesExpanded;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // Move sequence, or the solver's message for invalid and unsolvable puzzles
+    public String getMoves() {
+        return moves;
+    }
+
+    // Final board (the goal once solved); a new array on every call
+    public int[][] getBoard() {
+        return PackedBoard.unpack(board);
+    }
+
+    // Final board in packed form
+    public long getPackedBoard() {
+        return board;
+    }
+
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return moves.length() + " moves, " + nodesExpanded + " nodes, " + elapsedNanos / 1_000_000 + " ms";
+    }
+}
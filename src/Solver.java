@@ -0,0 +1,15 @@
+/**
+ * A 15-puzzle solver: finds the tile moves leading from the puzzle to the goal, or reports one
+ * of the Helper messages for invalid and unsolvable puzzles.
+ * Solvers are stateless and thread-safe; one instance can serve many threads at once.
+ * Long searches check the thread's interrupt flag and give up with a CancellationException.
+ */
+public interface Solver {
+    // Solve the puzzle and return the moves, final board and statistics
+    SolveResult search(int[][] puzzle);
+
+    // Solve the puzzle and return the move sequence only
+    default String solve(int[][] puzzle) {
+        return search(puzzle).getMoves();
+    }
+}
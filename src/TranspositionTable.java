@@ -0,0 +1,102 @@
+/**
+ * Fixed-size transposition table for IDA*, keyed by packed board.
+ * Each slot holds a state, the lowest cost (g) at which it was searched and a backed-up
+ * lower bound on its remaining cost, learned when its subtree failed to reach the goal.
+ * The table never grows: when two states map to the same slot the replacement policy decides
+ * which one is kept. Entries are stamped with the iteration that wrote them, so starting a new
+ * solve or threshold iteration costs O(1) instead of clearing the arrays.
+ *
+ * Not thread-safe: IDAStar gives every thread its own table.
+ */
+public class TranspositionTable {
+    // Which entry to keep when a new state maps to an occupied slot
+    public enum Policy {
+        // Keep the entry searched closer to the root (it covers the larger subtree), unless it is stale
+        DEPTH_PREFERRED,
+        // Always overwrite with the most recent state
+        ALWAYS_REPLACE
+    }
+
+    // Bytes used per slot: key, stamp, cost and bound
+    static final int ENTRY_SIZE = Long.BYTES + Integer.BYTES + 2;
+
+    private final Policy policy;
+    private final long[] keys;        // Packed board of each slot
+    private final int[] stamps;       // Iteration that wrote each slot (0 = never written)
+    private final byte[] costs;       // Lowest g at which the state was searched
+    private final byte[] bounds;      // Lower bound on the remaining cost (unsigned)
+    private final int mask;           // Number of slots minus one
+
+    private int iteration;            // Current threshold iteration
+    private int searchStart;          // First iteration of the current solve; older stamps are empty
+
+    // Create a table using at most "bytes" of memory (rounded down to a power-of-two number of slots)
+    public TranspositionTable(long bytes, Policy policy) {
+        long slots = Math.max(bytes / ENTRY_SIZE, 1);
+        int capacity = Integer.highestOneBit((int) Math.min(slots, 1 << 30));
+        this.policy = policy;
+        this.keys = new long[capacity];
+        this.stamps = new int[capacity];
+        this.costs = new byte[capacity];
+        this.bounds = new byte[capacity];
+        this.mask = capacity - 1;
+    }
+
+    // Forget every entry (in O(1)) before a new solve
+    public void newSearch() {
+        nextIteration();
+        searchStart = iteration;
+    }
+
+    // Start a new threshold iteration; entries of earlier iterations of this solve stay valid
+    public void nextIteration() {
+        if (iteration == Integer.MAX_VALUE) {
+            // Stamp overflow: really clear the table once every 2^31 iterations
+            java.util.Arrays.fill(stamps, 0);
+            iteration = 0;
+        }
+        iteration++;
+    }
+
+    // Slot holding "board" for the current solve, or -1 if it is not stored
+    public int find(long board) {
+        int slot = LongHashSet.mix(board) & mask;
+        return keys[slot] == board && stamps[slot] >= searchStart ? slot : -1;
+    }
+
+    // Lowest g at which the state in the slot was searched
+    public int cost(int slot) {
+        return costs[slot] & 0xFF;
+    }
+
+    // Lower bound on the remaining cost of the state in the slot
+    public int bound(int slot) {
+        return bounds[slot] & 0xFF;
+    }
+
+    // Whether the slot was written during the current threshold iteration
+    public boolean isCurrent(int slot) {
+        return stamps[slot] == iteration;
+    }
+
+    // Record that "board" was searched at "cost" and needs at least "bound" more moves
+    public void store(long board, int cost, int bound) {
+        if (cost > 0xFF) return;
+
+        int slot = LongHashSet.mix(board) & mask;
+        if (policy == Policy.DEPTH_PREFERRED && keys[slot] != board && stamps[slot] == iteration
+                && cost(slot) < cost) {
+            return;
+        }
+
+        keys[slot] = board;
+        stamps[slot] = iteration;
+        costs[slot] = (byte) cost;
+        bounds[slot] = (byte) Math.min(bound, 0xFF);
+    }
+
+    // Number of slots
+    public int capacity() {
+        return keys.length;
+    }
+}
@@ -1,5 +1,14 @@
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class UnitTests {
@@ -238,6 +247,98 @@ public class UnitTests {
         assertArrayEquals(original, copy);
     }
 
+    // pack()/unpack() should round-trip every test board
+    @Test
+    public void packedBoard_should_round_trip_boards() {
+        for (var testCase : solvableTestCases) {
+            long board = PackedBoard.pack(testCase);
+            assertArrayEquals(testCase, PackedBoard.unpack(board));
+            for (int position = 0; position < PackedBoard.SIZE; position++) {
+                assertEquals(position, PackedBoard.positionOf(board, PackedBoard.get(board, position)));
+            }
+        }
+        assertEquals(PackedBoard.GOAL, PackedBoard.pack(GOAL));
+        assertTrue(PackedBoard.isGoal(PackedBoard.pack(GOAL)));
+    }
+
+    // Packed move, blank tracking and Manhattan should agree with the int[][] helpers
+    @Test
+    public void packedBoard_should_match_int_array_helpers() {
+        for (var testCase : solvableTestCases) {
+            long packed = PackedBoard.pack(testCase);
+            int[] blankPosition = Helper.getBlankPosition(testCase);
+            int blank = PackedBoard.blankPosition(packed);
+
+            assertEquals(blankPosition[0] * 4 + blankPosition[1], blank);
+            assertEquals(Helper.manhattan(testCase), PackedBoard.manhattan(packed));
+
+            // Slide the tile above or below the blank into it
+            int target = blank >= 4 ? blank - 4 : blank + 4;
+            int[][] expected = Helper.deepCopy(testCase);
+            Helper.swap(expected, blank / 4, blank % 4, target / 4, target % 4);
+            assertArrayEquals(expected, PackedBoard.unpack(PackedBoard.move(packed, blank, target)));
+            assertArrayEquals(expected, PackedBoard.unpack(PackedBoard.swap(packed, blank, target)));
+        }
+    }
+
+    // LongHashSet should keep every distinct key across resizes, including 0
+    @Test
+    public void longHashSet_should_store_unique_keys() {
+        LongHashSet set = new LongHashSet(4);
+        for (long key = 0; key < 10_000; key++) {
+            assertTrue(set.add(key * 0x10001L));
+        }
+        assertFalse(set.add(0));
+        assertFalse(set.add(42 * 0x10001L));
+        assertEquals(10_000, set.size());
+        assertTrue(set.contains(9_999 * 0x10001L));
+        assertFalse(set.contains(-1));
+
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(0));
+    }
+
+    // LongIntHashMap should overwrite values and return the default for missing keys
+    @Test
+    public void longIntHashMap_should_store_values() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i * 31L, i);
+        }
+        map.put(31L, -5);
+
+        assertEquals(10_000, map.size());
+        assertEquals(0, map.get(0, -1));
+        assertEquals(-5, map.get(31L, -1));
+        assertEquals(9_999, map.get(9_999 * 31L, -1));
+        assertEquals(-1, map.get(7L, -1));
+        assertTrue(map.containsKey(62L));
+        assertFalse(map.containsKey(63L));
+    }
+
+    // BucketQueue should pop the lowest f first, preferring the deepest node on ties
+    @Test
+    public void bucketQueue_should_pop_lowest_f_then_highest_g() {
+        BucketQueue queue = new BucketQueue(4);
+        long board = PackedBoard.GOAL;
+        Node first = new Node(board, 3, 3, null, 7, 0, -1);   // f = 7, g = 7
+        Node lowest = new Node(board, 3, 3, null, 2, 0, -1);  // f = 2, g = 2
+        Node highest = new Node(board, 3, 3, null, 300, 0, -1); // f = 300, grows the buckets
+        Node last = new Node(board, 3, 3, null, 7, 0, -1);    // f = 7, g = 7 (inserted last)
+        queue.insert(first);
+        queue.insert(lowest);
+        queue.insert(highest);
+        queue.insert(last);
+
+        assertEquals(4, queue.size());
+        assertSame(lowest, queue.remove());
+        assertSame(last, queue.remove());
+        assertSame(first, queue.remove());
+        assertSame(highest, queue.remove());
+        assertTrue(queue.isEmpty());
+    }
+
     // testSolution() should return the solved board when using IDA*
     @Test
     public void testSolution_should_return_goal_board_for_IDAStar() {
@@ -261,4 +362,901 @@ public class UnitTests {
             assertArrayEquals(GOAL, testBoard, "Solution should be the goal board.");
         }
     }
-}
\ No newline at end of file
+
+    // A* with the bucket queue should also reach the goal board
+    @Test
+    public void testSolution_should_return_goal_board_for_AStar_with_bucket_queue() {
+        AStar aStar = new AStar(true);
+
+        for (var testCase : solvableTestCases) {
+            String solution = aStar.solve(testCase);
+            int[][] testBoard = Helper.testSolution(testCase, solution);
+            assertArrayEquals(GOAL, testBoard, "Solution should be the goal board.");
+        }
+    }
+
+    // Small additive pattern database (five groups of three tiles) that builds in well under a second
+    private static final int[][] TEST_PARTITION = {{1, 2, 3}, {4, 5, 6}, {7, 8, 9}, {10, 11, 12}, {13, 14, 15}};
+
+    // An additive pattern database should be admissible and at least as strong as Manhattan
+    @Test
+    public void patternDatabase_should_be_admissible_and_dominate_manhattan() {
+        PatternDatabase pdb = PatternDatabase.build(TEST_PARTITION);
+        IDAStar idaStar = new IDAStar();
+
+        assertEquals(0, pdb.estimate(PackedBoard.GOAL));
+        for (var testCase : solvableTestCases) {
+            long board = PackedBoard.pack(testCase);
+            int optimal = idaStar.solve(testCase).length();
+            assertTrue(pdb.estimate(board) >= PackedBoard.manhattan(board));
+            assertTrue(pdb.estimate(board) <= optimal);
+        }
+    }
+
+    // Both solvers should return optimal solutions when driven by a pattern database
+    @Test
+    public void solvers_should_find_optimal_solutions_with_pattern_database() {
+        PatternDatabase pdb = PatternDatabase.build(TEST_PARTITION);
+        IDAStar manhattanSolver = new IDAStar();
+        IDAStar idaStar = new IDAStar(pdb);
+        AStar aStar = new AStar(pdb, true);
+
+        for (var testCase : solvableTestCases) {
+            int optimal = manhattanSolver.solve(testCase).length();
+            String idaSolution = idaStar.solve(testCase);
+            String aSolution = aStar.solve(testCase);
+            assertArrayEquals(GOAL, Helper.testSolution(testCase, idaSolution));
+            assertArrayEquals(GOAL, Helper.testSolution(testCase, aSolution));
+            assertEquals(optimal, idaSolution.length());
+            assertEquals(optimal, aSolution.length());
+        }
+    }
+
+    // Partitions with repeated tiles or oversized groups should be rejected
+    @Test
+    public void patternDatabase_should_reject_invalid_partitions() {
+        assertThrows(IllegalArgumentException.class, () -> PatternDatabase.build(new int[][]{{1, 2}, {2, 3}}));
+        assertThrows(IllegalArgumentException.class, () -> PatternDatabase.build(new int[][]{{1, 2, 3, 4, 5, 6, 7, 8, 9}}));
+        assertThrows(IllegalArgumentException.class, () -> PatternDatabase.build(new int[][]{{0, 1}}));
+    }
+
+    // A pattern database written to disk and mapped back should give the same estimates
+    @Test
+    public void patternDatabaseFile_should_round_trip() throws java.io.IOException {
+        PatternDatabase pdb = PatternDatabase.build(TEST_PARTITION);
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("pdb", ".bin");
+        try {
+            PatternDatabaseFile.write(pdb, file);
+            PatternDatabase mapped = PatternDatabaseFile.map(file, true);
+
+            assertArrayEquals(TEST_PARTITION, mapped.getPartition());
+            for (var testCase : solvableTestCases) {
+                long board = PackedBoard.pack(testCase);
+                assertEquals(pdb.estimate(board), mapped.estimate(board));
+            }
+        } finally {
+            java.nio.file.Files.delete(file);
+        }
+    }
+
+    // Files with a wrong signature or a damaged table should be rejected
+    @Test
+    public void patternDatabaseFile_should_reject_corrupt_files() throws java.io.IOException {
+        PatternDatabase pdb = PatternDatabase.build(new int[][]{{1, 2}, {3}});
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("pdb", ".bin");
+        try {
+            PatternDatabaseFile.write(pdb, file);
+            byte[] bytes = java.nio.file.Files.readAllBytes(file);
+
+            bytes[PatternDatabaseFile.HEADER_SIZE] ^= 1;
+            java.nio.file.Files.write(file, bytes);
+            assertThrows(java.io.IOException.class, () -> PatternDatabaseFile.map(file, true));
+            assertThrows(java.io.IOException.class,
+                    () -> PatternDatabaseFile.mapOrBuild(file, new int[][]{{1, 2}, {3}}, true));
+
+            bytes[0] = 0;
+            java.nio.file.Files.write(file, bytes);
+            assertThrows(java.io.IOException.class, () -> PatternDatabaseFile.map(file));
+        } finally {
+            java.nio.file.Files.delete(file);
+        }
+    }
+
+    // mapOrBuild should rebuild and replace a file built for another partition
+    @Test
+    public void patternDatabaseFile_should_rebuild_other_partitions() throws java.io.IOException {
+        int[][] stored = {{1, 2}, {3}};
+        int[][] requested = {{1}, {2, 3}};
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("pdb", ".bin");
+        try {
+            PatternDatabaseFile.write(PatternDatabase.build(stored), file);
+            assertArrayEquals(stored, PatternDatabaseFile.mapOrBuild(file, stored).getPartition());
+
+            PatternDatabase rebuilt = PatternDatabaseFile.mapOrBuild(file, requested);
+            assertArrayEquals(requested, rebuilt.getPartition());
+            assertArrayEquals(requested, PatternDatabaseFile.map(file, true).getPartition());
+        } finally {
+            java.nio.file.Files.delete(file);
+        }
+    }
+
+    // The parallel builder should write exactly the same file as the sequential builder
+    @Test
+    public void parallelPatternDatabaseBuilder_should_match_sequential_builder() throws java.io.IOException {
+        ParallelPatternDatabaseBuilder builder = new ParallelPatternDatabaseBuilder(4);
+        PatternDatabase parallel = builder.build(TEST_PARTITION);
+        builder.shutdown();
+        PatternDatabase sequential = PatternDatabase.build(TEST_PARTITION);
+
+        java.nio.file.Path parallelFile = java.nio.file.Files.createTempFile("pdb", ".bin");
+        java.nio.file.Path sequentialFile = java.nio.file.Files.createTempFile("pdb", ".bin");
+        try {
+            PatternDatabaseFile.write(parallel, parallelFile);
+            PatternDatabaseFile.write(sequential, sequentialFile);
+            assertArrayEquals(java.nio.file.Files.readAllBytes(sequentialFile), java.nio.file.Files.readAllBytes(parallelFile));
+        } finally {
+            java.nio.file.Files.delete(parallelFile);
+            java.nio.file.Files.delete(sequentialFile);
+        }
+
+        // Every (placement, blank) state of every group is reachable
+        assertEquals(5 * PatternDatabase.placements(4), builder.getStatesVisited());
+        assertTrue(builder.getStatesPerSecond() > 0);
+    }
+
+    // Incremental heuristic updates should always equal a full recomputation
+    @Test
+    public void heuristic_update_should_match_estimate_along_random_walks() {
+        Heuristic[] heuristics = {new ManhattanHeuristic(), PatternDatabase.build(TEST_PARTITION), new LinearConflictHeuristic(),
+                new ManhattanHeuristic(PackedBoard.pack(solvableTestCases[0]))};
+        java.util.Random random = new java.util.Random(42);
+
+        for (Heuristic heuristic : heuristics) {
+            long board = PackedBoard.GOAL;
+            int blank = PackedBoard.SIZE - 1;
+            int h = heuristic.estimate(board);
+            for (int step = 0; step < 2_000; step++) {
+                int[] targets = {blank - 4, blank + 4, blank % 4 > 0 ? blank - 1 : -1, blank % 4 < 3 ? blank + 1 : -1};
+                int target = targets[random.nextInt(4)];
+                if (target < 0 || target >= PackedBoard.SIZE) continue;
+
+                long child = PackedBoard.move(board, blank, target);
+                h = heuristic.update(board, child, h, PackedBoard.get(board, target), target, blank);
+                assertEquals(heuristic.estimate(child), h);
+                board = child;
+                blank = target;
+            }
+        }
+    }
+
+    // Linear conflicts should add to Manhattan without overestimating
+    @Test
+    public void linearConflict_should_be_admissible_and_dominate_manhattan() {
+        Heuristic linearConflict = new LinearConflictHeuristic();
+        IDAStar manhattanSolver = new IDAStar();
+        IDAStar idaStar = new IDAStar(linearConflict);
+
+        // 2 and 1 are swapped in their goal row: Manhattan 2 plus one conflict
+        int[][] conflict = {{2, 1, 3, 4}, {5, 6, 7, 8}, {9, 10, 11, 12}, {13, 14, 15, 0}};
+        assertEquals(4, linearConflict.estimate(PackedBoard.pack(conflict)));
+        assertEquals(0, linearConflict.estimate(PackedBoard.GOAL));
+
+        for (var testCase : solvableTestCases) {
+            long board = PackedBoard.pack(testCase);
+            int optimal = manhattanSolver.solve(testCase).length();
+            assertTrue(linearConflict.estimate(board) >= PackedBoard.manhattan(board));
+            assertTrue(linearConflict.estimate(board) <= optimal);
+            assertEquals(optimal, idaStar.solve(testCase).length());
+        }
+    }
+
+    // Walking distance should cover the known 24,964 abstract states and stay admissible
+    @Test
+    public void walkingDistance_should_be_admissible_and_dominate_manhattan() {
+        Heuristic walkingDistance = new WalkingDistanceHeuristic();
+        Heuristic withLinearConflict = new WalkingDistanceHeuristic(true);
+        IDAStar manhattanSolver = new IDAStar();
+        IDAStar idaStar = new IDAStar(withLinearConflict);
+
+        assertEquals(24_964, WalkingDistanceHeuristic.tableSize());
+        assertEquals(0, walkingDistance.estimate(PackedBoard.GOAL));
+        for (var testCase : solvableTestCases) {
+            long board = PackedBoard.pack(testCase);
+            int optimal = manhattanSolver.solve(testCase).length();
+            assertTrue(walkingDistance.estimate(board) >= PackedBoard.manhattan(board));
+            assertTrue(withLinearConflict.estimate(board) <= optimal);
+            assertEquals(optimal, idaStar.solve(testCase).length());
+        }
+    }
+
+    // Parallel IDA* should find solutions as short as sequential IDA*, including ones shorter than its frontier
+    @Test
+    public void parallelIDAStar_should_find_optimal_solutions() {
+        ParallelIDAStar parallel = new ParallelIDAStar(new ManhattanHeuristic(), 4, 6);
+        IDAStar idaStar = new IDAStar();
+        try {
+            for (var testCase : solvableTestCases) {
+                String solution = parallel.solve(testCase);
+                assertArrayEquals(GOAL, Helper.testSolution(testCase, solution));
+                assertEquals(idaStar.solve(testCase).length(), solution.length());
+            }
+
+            int[][] twoMoves = {{1, 2, 3, 4}, {5, 6, 7, 8}, {9, 10, 11, 12}, {13, 0, 14, 15}};
+            assertEquals("LL", parallel.solve(twoMoves));
+            assertEquals("", parallel.solve(GOAL));
+            assertArrayEquals(GOAL, parallel.search(GOAL).getBoard());
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    // Hash-distributed parallel A* should find optimal solutions with any number of workers
+    @Test
+    public void parallelAStar_should_find_optimal_solutions() {
+        IDAStar idaStar = new IDAStar();
+        for (int threads : new int[]{1, 3}) {
+            ParallelAStar parallel = new ParallelAStar(new ManhattanHeuristic(), threads);
+            for (var testCase : solvableTestCases) {
+                String solution = parallel.solve(testCase);
+                assertArrayEquals(GOAL, Helper.testSolution(testCase, solution));
+                assertEquals(idaStar.solve(testCase).length(), solution.length());
+            }
+
+            assertEquals("", parallel.solve(GOAL));
+            assertArrayEquals(GOAL, parallel.search(GOAL).getBoard());
+        }
+    }
+
+    // A batch should yield one result per puzzle, solved or reported as invalid
+    @Test
+    public void batchSolver_should_solve_all_puzzles_concurrently() {
+        List<int[][]> puzzles = new ArrayList<>(Arrays.asList(solvableTestCases));
+        puzzles.addAll(Arrays.asList(unsolvableTestCases));
+
+        try (BatchSolver batch = new BatchSolver(new IDAStar(), 3, true, 0, TimeUnit.SECONDS)) {
+            List<BatchSolver.Result> results = batch.solveAll(puzzles).collect(Collectors.toList());
+            assertEquals(puzzles.size(), results.size());
+
+            Set<Integer> indices = new java.util.HashSet<>();
+            for (BatchSolver.Result result : results) {
+                assertTrue(indices.add(result.getIndex()));
+                assertSame(puzzles.get(result.getIndex()), result.getPuzzle());
+                if (result.getIndex() < solvableTestCases.length) {
+                    assertEquals(BatchSolver.Status.SOLVED, result.getStatus());
+                    assertArrayEquals(GOAL, Helper.testSolution(result.getPuzzle(), result.getMoves()));
+                } else {
+                    assertEquals(BatchSolver.Status.INVALID, result.getStatus());
+                    assertEquals(Helper.UNSOLVABLE_MESSAGE, result.getMoves());
+                }
+            }
+        }
+    }
+
+    // A puzzle over the timeout should be TIMED_OUT and free its thread for the next one
+    @Test
+    public void batchSolver_should_time_out_long_searches() throws Exception {
+        int[][] hardest = {{0, 12, 9, 13}, {15, 11, 10, 14}, {3, 7, 2, 5}, {4, 8, 6, 1}};
+        int[][] easy = {{1, 2, 3, 4}, {5, 6, 7, 8}, {9, 10, 11, 12}, {13, 0, 14, 15}};
+
+        // A single thread: the easy puzzle must run on the thread the timed-out search released
+        try (BatchSolver batch = new BatchSolver(new IDAStar(), 1, false, 100, TimeUnit.MILLISECONDS)) {
+            CompletableFuture<BatchSolver.Result> slow = batch.submit(hardest);
+            CompletableFuture<BatchSolver.Result> fast = batch.submit(easy);
+
+            assertEquals(BatchSolver.Status.TIMED_OUT, slow.get(10, TimeUnit.SECONDS).getStatus());
+            assertEquals(BatchSolver.Status.SOLVED, fast.get(10, TimeUnit.SECONDS).getStatus());
+            assertEquals("LL", fast.get().getMoves());
+        }
+    }
+
+    // Parallel IDA* should give up when its calling thread is interrupted by a timeout
+    @Test
+    public void batchSolver_should_time_out_parallel_searches() throws Exception {
+        int[][] hardest = {{0, 12, 9, 13}, {15, 11, 10, 14}, {3, 7, 2, 5}, {4, 8, 6, 1}};
+        int[][] easy = {{1, 2, 3, 4}, {5, 6, 7, 8}, {9, 10, 11, 12}, {13, 0, 14, 15}};
+
+        ParallelIDAStar parallel = new ParallelIDAStar(new ManhattanHeuristic(), 2, 4);
+        try (BatchSolver batch = new BatchSolver(parallel, 1, false, 100, TimeUnit.MILLISECONDS)) {
+            CompletableFuture<BatchSolver.Result> slow = batch.submit(hardest);
+            CompletableFuture<BatchSolver.Result> fast = batch.submit(easy);
+
+            assertEquals(BatchSolver.Status.TIMED_OUT, slow.get(10, TimeUnit.SECONDS).getStatus());
+            assertEquals("LL", fast.get(10, TimeUnit.SECONDS).getMoves());
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    // A solver that throws (even an Error) or a closed batch should give FAILED results, never hang
+    @Test
+    public void batchSolver_should_report_failing_solvers() throws Exception {
+        Solver broken = puzzle -> {
+            throw new AssertionError("broken solver");
+        };
+        List<int[][]> puzzles = Arrays.asList(solvableTestCases[0], solvableTestCases[1]);
+
+        BatchSolver batch = new BatchSolver(broken, 2, false, 0, TimeUnit.SECONDS);
+        try {
+            List<BatchSolver.Result> results = batch.solveAll(puzzles).collect(Collectors.toList());
+            assertEquals(puzzles.size(), results.size());
+            for (BatchSolver.Result result : results) {
+                assertEquals(BatchSolver.Status.FAILED, result.getStatus());
+                assertTrue(result.getError() instanceof AssertionError);
+            }
+        } finally {
+            batch.close();
+        }
+
+        // An exception inside a search is a failure, not a solution
+        Heuristic failing = new Heuristic() {
+            public int estimate(long board) {
+                return PackedBoard.manhattan(board);
+            }
+
+            public int update(long parent, long child, int h, int tile, int from, int to) {
+                throw new IllegalStateException("broken heuristic");
+            }
+        };
+        try (BatchSolver aStarBatch = new BatchSolver(new AStar(failing, true), 1, false, 0, TimeUnit.SECONDS)) {
+            BatchSolver.Result result = aStarBatch.submit(solvableTestCases[0]).get(10, TimeUnit.SECONDS);
+            assertEquals(BatchSolver.Status.FAILED, result.getStatus());
+            assertTrue(result.getError() instanceof IllegalStateException);
+        }
+
+        // Tasks rejected by the closed executor are failures as well
+        BatchSolver.Result rejected = batch.submit(solvableTestCases[0]).get(10, TimeUnit.SECONDS);
+        assertEquals(BatchSolver.Status.FAILED, rejected.getStatus());
+        assertEquals(1, batch.solveAll(puzzles.subList(0, 1)).count());
+    }
+
+    // One solver instance should solve correctly on several threads at once
+    @Test
+    public void solvers_should_be_shareable_between_threads() throws Exception {
+        // A* keeps every thread's peak-sized scratch memory, so it only gets the two easiest cases
+        // (under a million expansions each) to stay within the default heap
+        int[][][] easiest = {solvableTestCases[0], solvableTestCases[1]};
+        Solver[] solvers = {new IDAStar(), new AStar(true), new AStar(false)};
+        int[][][][] puzzleSets = {solvableTestCases, easiest, easiest};
+        for (int s = 0; s < solvers.length; s++) {
+            Solver solver = solvers[s];
+            int[][][] puzzles = puzzleSets[s];
+            int[] expected = new int[puzzles.length];
+            for (int i = 0; i < puzzles.length; i++) {
+                SolveResult result = solver.search(puzzles[i]);
+                assertArrayEquals(GOAL, result.getBoard());
+                assertEquals(result.getMoves(), solver.solve(puzzles[i]));
+                expected[i] = result.getMoves().length();
+            }
+
+            // Every thread solves every puzzle with the same instance, reusing its own scratch memory
+            Thread[] threads = new Thread[4];
+            List<Throwable> failures = java.util.Collections.synchronizedList(new ArrayList<>());
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    try {
+                        for (int round = 0; round < 2; round++) {
+                            for (int i = 0; i < puzzles.length; i++) {
+                                SolveResult result = solver.search(puzzles[i]);
+                                assertEquals(expected[i], result.getMoves().length());
+                                assertArrayEquals(GOAL, Helper.testSolution(puzzles[i], result.getMoves()));
+                            }
+                        }
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(List.of(), failures);
+        }
+    }
+
+    // A* should report invalid and unsolvable puzzles with the Helper messages instead of searching
+    @Test
+    public void aStar_should_reject_invalid_and_unsolvable_puzzles() {
+        int[][] duplicateTile = {{1, 2, 3, 4}, {5, 6, 7, 8}, {9, 10, 11, 12}, {13, 14, 14, 0}};
+        for (AStar aStar : new AStar[]{new AStar(), new AStar(true), new AStar(new ManhattanHeuristic(), false, true)}) {
+            assertEquals(Helper.INVALID_PUZZLE_MESSAGE, aStar.solve(duplicateTile));
+            for (var testCase : invalidTestCases) {
+                assertEquals(Helper.INVALID_PUZZLE_MESSAGE, aStar.solve(testCase));
+            }
+            for (var testCase : unsolvableTestCases) {
+                SolveResult result = aStar.search(testCase);
+                assertEquals(Helper.UNSOLVABLE_MESSAGE, result.getMoves());
+                assertEquals(0, result.getNodesExpanded());
+            }
+        }
+    }
+
+    // A* should keep its scratch capacity after small solves and drop it after large ones
+    @Test
+    public void aStar_should_drop_scratch_after_large_searches() {
+        AStar aStar = new AStar(true);
+        int initial = aStar.retainedCapacity();
+
+        // A board a sixth of the way along a known solution needs a search of a few thousand nodes
+        String moves = aStar.solve(solvableTestCases[0]);
+        assertEquals(initial, aStar.retainedCapacity());
+        int[][] nearer = Helper.testSolution(solvableTestCases[0], moves.substring(0, moves.length() / 6));
+        SolveResult small = aStar.search(nearer);
+        assertTrue(small.getNodesExpanded() <= AStar.RETAINED_NODES);
+        assertTrue(aStar.retainedCapacity() > initial);
+
+        SolveResult large = aStar.search(solvableTestCases[0]);
+        assertTrue(large.getNodesExpanded() > AStar.RETAINED_NODES);
+        assertEquals(initial, aStar.retainedCapacity());
+    }
+
+    // A* over its node limit should finish with IDA* and still find optimal solutions
+    @Test
+    public void aStar_should_fall_back_to_IDAStar_within_node_limit() {
+        IDAStar idaStar = new IDAStar();
+        for (int limit : new int[]{1, 500, 20_000}) {
+            AStar bounded = new AStar(true).setNodeLimit(limit);
+            for (var testCase : solvableTestCases) {
+                SolveResult result = bounded.search(testCase);
+                assertArrayEquals(GOAL, Helper.testSolution(testCase, result.getMoves()));
+                assertArrayEquals(GOAL, result.getBoard());
+                assertEquals(idaStar.solve(testCase).length(), result.getMoves().length());
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new AStar().setNodeLimit(0));
+    }
+
+    // A* should give up when interrupted after switching to IDA* over many small frontier subtrees
+    @Test
+    public void aStar_should_check_interrupts_in_frontier_search() {
+        int[][] hardest = {{0, 12, 9, 13}, {15, 11, 10, 14}, {3, 7, 2, 5}, {4, 8, 6, 1}};
+        // Below the interrupt check interval, so the flag is first seen in the frontier search
+        AStar bounded = new AStar(true).setNodeLimit(1_000);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> bounded.search(hardest));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    // Bidirectional search should find solutions as short as IDA*
+    @Test
+    public void bidirectionalAStar_should_find_optimal_solutions() {
+        IDAStar idaStar = new IDAStar();
+        for (Solver solver : new Solver[]{new BidirectionalAStar(), new BidirectionalAStar(new LinearConflictHeuristic())}) {
+            for (var testCase : solvableTestCases) {
+                SolveResult result = solver.search(testCase);
+                assertArrayEquals(GOAL, Helper.testSolution(testCase, result.getMoves()));
+                assertEquals(idaStar.solve(testCase).length(), result.getMoves().length());
+            }
+
+            int[][] twoMoves = {{1, 2, 3, 4}, {5, 6, 7, 8}, {9, 10, 11, 12}, {13, 0, 14, 15}};
+            assertEquals("LL", solver.solve(twoMoves));
+            assertEquals("", solver.solve(GOAL));
+            assertEquals(Helper.UNSOLVABLE_MESSAGE, solver.solve(unsolvableTestCases[0]));
+        }
+    }
+
+    // Manhattan distance to an arbitrary target board should match the int[][] helper
+    @Test
+    public void manhattanHeuristic_should_measure_distance_to_any_target() {
+        long start = PackedBoard.pack(solvableTestCases[0]);
+        ManhattanHeuristic toStart = new ManhattanHeuristic(start);
+        assertEquals(0, toStart.estimate(start));
+        assertEquals(PackedBoard.manhattan(start), toStart.estimate(PackedBoard.GOAL));
+    }
+
+    // A transposition table should keep IDA* optimal, and expand fewer nodes when used at every node
+    @Test
+    public void idaStar_with_transposition_table_should_stay_optimal_with_fewer_nodes() {
+        IDAStar plain = new IDAStar();
+        for (TranspositionTable.Policy policy : TranspositionTable.Policy.values()) {
+            for (long bytes : new long[]{1 << 10, 32 << 20}) {
+                for (int minSlack : new int[]{0, IDAStar.DEFAULT_TABLE_MIN_SLACK}) {
+                    IDAStar cached = new IDAStar().setTranspositionTable(bytes, policy, minSlack);
+                    long plainNodes = 0;
+                    long cachedNodes = 0;
+                    for (var testCase : solvableTestCases) {
+                        SolveResult expected = plain.search(testCase);
+                        SolveResult result = cached.search(testCase);
+                        assertArrayEquals(GOAL, Helper.testSolution(testCase, result.getMoves()));
+                        assertEquals(expected.getMoves().length(), result.getMoves().length());
+                        plainNodes += expected.getNodesExpanded();
+                        cachedNodes += result.getNodesExpanded();
+                    }
+                    if (bytes > 1 << 10 && minSlack == 0) {
+                        assertTrue(cachedNodes < plainNodes, policy + ": " + cachedNodes + " >= " + plainNodes);
+                    }
+                }
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new IDAStar().setTranspositionTable(1 << 10, TranspositionTable.Policy.DEPTH_PREFERRED, -1));
+    }
+
+    // Move pruning should never cut every shortest path to a state
+    @Test
+    public void movePruning_should_keep_a_shortest_path_to_every_state() {
+        // Breadth-first distances from the goal up to depth 10
+        int depth = 10;
+        LongIntHashMap distances = new LongIntHashMap(1 << 10);
+        List<Long> boards = new ArrayList<>(List.of(PackedBoard.GOAL));
+        List<Long> layer = List.of(PackedBoard.GOAL);
+        distances.put(PackedBoard.GOAL, 0);
+        for (int d = 1; d <= depth; d++) {
+            List<Long> next = new ArrayList<>();
+            for (long board : layer) {
+                int blank = PackedBoard.blankPosition(board);
+                for (int direction = 0; direction < 4; direction++) {
+                    int target = neighbour(blank, direction);
+                    if (target < 0) continue;
+                    long child = PackedBoard.move(board, blank, target);
+                    if (!distances.containsKey(child)) {
+                        distances.put(child, d);
+                        next.add(child);
+                    }
+                }
+            }
+            boards.addAll(next);
+            layer = next;
+        }
+
+        // Depth-first enumeration of the unpruned sequences must reach every state at its distance
+        for (MovePruning pruning : new MovePruning[]{MovePruning.all(), MovePruning.shorter()}) {
+            assertEquals(-1, pruning.next(pruning.next(MovePruning.START, 0), 1));
+            LongIntHashMap reached = new LongIntHashMap(1 << 10);
+            enumerate(pruning, PackedBoard.GOAL, PackedBoard.SIZE - 1, MovePruning.START, 0, depth, reached);
+            assertEquals(distances.size(), reached.size());
+            for (long board : boards) {
+                assertEquals(distances.get(board, -1), reached.get(board, -1));
+            }
+        }
+    }
+
+    // Blank position after moving in a direction on the 4x4 board, or -1 if off the board
+    private static int neighbour(int blank, int direction) {
+        int row = blank / 4 + AStar.dx[direction];
+        int column = blank % 4 + AStar.dy[direction];
+        return row < 0 || row >= 4 || column < 0 || column >= 4 ? -1 : row * 4 + column;
+    }
+
+    // Record the lowest depth at which every state is reached by an unpruned move sequence
+    private static void enumerate(MovePruning pruning, long board, int blank, int state, int cost, int depth,
+                                  LongIntHashMap reached) {
+        if (reached.get(board, Integer.MAX_VALUE) > cost) reached.put(board, cost);
+        if (cost == depth) return;
+
+        for (int direction = 0; direction < 4; direction++) {
+            int target = neighbour(blank, direction);
+            int next = pruning.next(state, direction);
+            if (target < 0 || next < 0) continue;
+            enumerate(pruning, PackedBoard.move(board, blank, target), target, next, cost + 1, depth, reached);
+        }
+    }
+
+    // Precomputed blank moves should list every legal move except undoing the previous one
+    @Test
+    public void blankMoves_should_list_the_legal_moves_except_the_reversal() {
+        for (int blank = 0; blank < PackedBoard.SIZE; blank++) {
+            for (int previousDirection = -1; previousDirection < 4; previousDirection++) {
+                List<Integer> expected = new ArrayList<>();
+                for (int direction = 0; direction < 4; direction++) {
+                    if (previousDirection != -1 && (direction ^ 1) == previousDirection) continue;
+                    int target = neighbour(blank, direction);
+                    if (target >= 0) expected.add((target << 2) | direction);
+                }
+
+                int[] moves = BlankMoves.of(blank, previousDirection);
+                assertEquals(expected, Arrays.stream(moves).boxed().collect(Collectors.toList()));
+                for (int move : moves) {
+                    assertEquals(neighbour(blank, BlankMoves.direction(move)), BlankMoves.target(move));
+                }
+            }
+        }
+
+        // Corner blank: two moves, one of them undone by the previous move
+        assertEquals(2, BlankMoves.of(0, -1).length);
+        assertEquals(1, BlankMoves.of(0, 1).length);
+    }
+
+    // The iterative IDA* should expand exactly the nodes of the recursive one
+    @Test
+    public void iterative_idaStar_should_match_the_recursive_search() {
+        IDAStar[][] pairs = {
+                {new IDAStar(), new IDAStar().setIterative(true)},
+                {new IDAStar().setTranspositionTable(32 << 20, TranspositionTable.Policy.DEPTH_PREFERRED),
+                        new IDAStar().setTranspositionTable(32 << 20, TranspositionTable.Policy.DEPTH_PREFERRED)
+                                .setIterative(true)},
+                {new IDAStar().setTranspositionTable(32 << 20, TranspositionTable.Policy.DEPTH_PREFERRED, 0),
+                        new IDAStar().setTranspositionTable(32 << 20, TranspositionTable.Policy.DEPTH_PREFERRED, 0)
+                                .setIterative(true)}
+        };
+        for (IDAStar[] pair : pairs) {
+            for (var testCase : solvableTestCases) {
+                SolveResult expected = pair[0].search(testCase);
+                SolveResult result = pair[1].search(testCase);
+                assertEquals(expected.getMoves(), result.getMoves());
+                assertEquals(expected.getNodesExpanded(), result.getNodesExpanded());
+                assertEquals(expected.getPackedBoard(), result.getPackedBoard());
+            }
+        }
+
+        // Start with a one-frame stack so every search has to grow it
+        long start = PackedBoard.pack(solvableTestCases[0]);
+        int h = new ManhattanHeuristic().estimate(start);
+        IDAStar.Search search = new IDAStar.Search(new ManhattanHeuristic(), start, h, null);
+        search.frames = new IDAStar.Frames(1);
+        while (search.dfsIterative(PackedBoard.blankPosition(start), 0, -1, MovePruning.START, h) != -1) {
+            search.threshold++;
+        }
+        assertEquals(new IDAStar().solve(solvableTestCases[0]), search.solution);
+    }
+
+    // A* over the node arena should match bucket-queue A* move for move
+    @Test
+    public void arenaAStar_should_match_bucket_queue_aStar() {
+        AStar aStar = new AStar(true);
+        for (boolean offHeap : new boolean[]{false, true}) {
+            // Off-heap, release every chunk after each solve
+            ArenaAStar arena = new ArenaAStar(new ManhattanHeuristic(), offHeap,
+                    offHeap ? 0 : ArenaAStar.DEFAULT_RETAINED_BYTES);
+            for (var testCase : solvableTestCases) {
+                SolveResult expected = aStar.search(testCase);
+                SolveResult result = arena.search(testCase);
+                assertArrayEquals(GOAL, Helper.testSolution(testCase, result.getMoves()));
+                assertEquals(expected.getMoves(), result.getMoves());
+                assertEquals(expected.getNodesExpanded(), result.getNodesExpanded());
+            }
+            assertEquals(Helper.UNSOLVABLE_MESSAGE, arena.solve(unsolvableTestCases[0]));
+            arena.release();
+            assertEquals(aStar.solve(solvableTestCases[0]), arena.solve(solvableTestCases[0]));
+        }
+    }
+
+    // The node arena should store every field across chunk boundaries and release chunks
+    @Test
+    public void nodeArena_should_store_nodes_across_chunks() {
+        for (boolean offHeap : new boolean[]{false, true}) {
+            NodeArena arena = new NodeArena(offHeap);
+            int count = NodeArena.CHUNK_SIZE + 10;
+            for (int i = 0; i < count; i++) {
+                assertEquals(i, arena.add(PackedBoard.GOAL + i, i - 1, i & 0x7FFF, i & 0xFF, i & 15, (i & 3) - 1,
+                        i * 7));
+            }
+            assertEquals(count, arena.size());
+            for (int i : new int[]{0, 1, NodeArena.CHUNK_SIZE - 1, NodeArena.CHUNK_SIZE, count - 1}) {
+                assertEquals(PackedBoard.GOAL + i, arena.board(i));
+                assertEquals(i - 1, arena.parent(i));
+                assertEquals(i & 0x7FFF, arena.cost(i));
+                assertEquals(i & 0xFF, arena.estimate(i));
+                assertEquals(i & 15, arena.blank(i));
+                assertEquals((i & 3) - 1, arena.direction(i));
+                assertEquals(i * 7, arena.pruningState(i));
+            }
+
+            long chunkBytes = (long) NodeArena.NODE_SIZE * NodeArena.CHUNK_SIZE;
+            arena.clear();
+            assertEquals(0, arena.size());
+            assertEquals(2 * chunkBytes, arena.capacityBytes());
+            assertEquals(0, arena.add(PackedBoard.GOAL, -1, 0, 0, 15, -1, MovePruning.START));
+
+            // Releasing keeps only the chunks within the retained bytes
+            arena.release(chunkBytes + 1);
+            assertEquals(0, arena.size());
+            assertEquals(chunkBytes, arena.capacityBytes());
+            arena.release(0);
+            assertEquals(0, arena.capacityBytes());
+            assertEquals(0, arena.add(PackedBoard.GOAL, -1, 0, 0, 15, -1, MovePruning.START));
+            assertEquals(PackedBoard.GOAL, arena.board(0));
+        }
+    }
+
+    // The indexed heap should hold each state once and lower its cost in place
+    @Test
+    public void indexedMinHeap_should_keep_one_node_per_state() {
+        IndexedMinHeap heap = new IndexedMinHeap(2);
+        long a = PackedBoard.GOAL;
+        long b = PackedBoard.move(a, 15, 14);
+        long c = PackedBoard.move(a, 15, 11);
+        heap.insert(new Node(a, 3, 3, null, 5, 10, -1));
+        heap.insert(new Node(b, 3, 2, null, 4, 9, -1));
+        heap.insert(new Node(c, 2, 3, null, 1, 20, -1));
+
+        // Equal or higher cost: dropped; lower cost: replaces the open node and moves up
+        heap.insert(new Node(a, 3, 3, null, 5, 0, -1));
+        heap.insert(new Node(b, 3, 2, null, 6, 0, -1));
+        heap.insert(new Node(c, 2, 3, null, 0, 0, -1));
+        assertEquals(3, heap.size());
+        assertEquals(3, heap.duplicates());
+        assertEquals(0, heap.get(c).cost);
+
+        assertEquals(c, heap.remove().board);
+        assertEquals(b, heap.remove().board);
+        assertEquals(a, heap.remove().board);
+        assertTrue(heap.isEmpty());
+        assertNull(heap.get(a));
+
+        // A* still finds optimal solutions with the indexed heap, popping fewer nodes
+        AStar plain = new AStar(false);
+        AStar indexed = new AStar(new ManhattanHeuristic(), false, true);
+        long plainNodes = 0;
+        long indexedNodes = 0;
+        for (var testCase : solvableTestCases) {
+            SolveResult expected = plain.search(testCase);
+            SolveResult result = indexed.search(testCase);
+            assertArrayEquals(GOAL, Helper.testSolution(testCase, result.getMoves()));
+            assertEquals(expected.getMoves().length(), result.getMoves().length());
+            plainNodes += expected.getNodesExpanded();
+            indexedNodes += result.getNodesExpanded();
+        }
+        assertTrue(indexedNodes < plainNodes, indexedNodes + " >= " + plainNodes);
+    }
+
+    // The perimeter database should store exact distances and optimal paths near the goal
+    @Test
+    public void perimeterDatabase_should_store_exact_distances_and_paths() {
+        PerimeterDatabase perimeter = PerimeterDatabase.build(8);
+        assertEquals(0, perimeter.distance(PackedBoard.GOAL));
+
+        // Every stored path is optimal and reaches the goal; a random walk never beats the distance
+        java.util.Random random = new java.util.Random(7);
+        for (int walk = 0; walk < 200; walk++) {
+            long board = PackedBoard.GOAL;
+            for (int step = 0; step < 1 + random.nextInt(12); step++) {
+                int blank = PackedBoard.blankPosition(board);
+                int[] moves = BlankMoves.of(blank, -1);
+                board = PackedBoard.move(board, blank, BlankMoves.target(moves[random.nextInt(moves.length)]));
+            }
+
+            int distance = perimeter.distance(board);
+            if (distance < 0) {
+                assertTrue(perimeter.outsideBound(board) > perimeter.depth());
+                continue;
+            }
+            String path = perimeter.path(board);
+            assertEquals(distance, path.length());
+            assertArrayEquals(GOAL, Helper.testSolution(PackedBoard.unpack(board), path));
+        }
+
+        // IDA* stays optimal with the perimeter, recursive and iterative alike
+        IDAStar plain = new IDAStar();
+        IDAStar recursive = new IDAStar().setPerimeter(perimeter);
+        IDAStar iterative = new IDAStar().setPerimeter(perimeter).setIterative(true);
+        for (var testCase : solvableTestCases) {
+            SolveResult result = recursive.search(testCase);
+            assertArrayEquals(GOAL, result.getBoard());
+            assertArrayEquals(GOAL, Helper.testSolution(testCase, result.getMoves()));
+            assertEquals(plain.solve(testCase).length(), result.getMoves().length());
+            assertEquals(result.getMoves(), iterative.solve(testCase));
+        }
+    }
+
+    // Dual and reflected boards should be exactly as far from the goal as the board
+    @Test
+    public void dual_and_reflected_boards_should_need_the_same_number_of_moves() {
+        PerimeterDatabase perimeter = PerimeterDatabase.build(10);
+        assertEquals(PackedBoard.GOAL, PackedBoard.reflect(PackedBoard.GOAL));
+        assertEquals(PackedBoard.GOAL, PackedBoard.dual(PackedBoard.GOAL));
+
+        java.util.Random random = new java.util.Random(11);
+        int duals = 0;
+        for (int walk = 0; walk < 500; walk++) {
+            long board = PackedBoard.GOAL;
+            for (int step = 0; step < 1 + random.nextInt(10); step++) {
+                int blank = PackedBoard.blankPosition(board);
+                int[] moves = BlankMoves.of(blank, -1);
+                board = PackedBoard.move(board, blank, BlankMoves.target(moves[random.nextInt(moves.length)]));
+            }
+
+            int distance = perimeter.distance(board);
+            assertEquals(board, PackedBoard.reflect(PackedBoard.reflect(board)));
+            assertEquals(distance, perimeter.distance(PackedBoard.reflect(board)));
+            if (PackedBoard.blankPosition(board) == PackedBoard.SIZE - 1) {
+                assertEquals(board, PackedBoard.dual(PackedBoard.dual(board)));
+                assertEquals(distance, perimeter.distance(PackedBoard.dual(board)));
+                duals++;
+            }
+        }
+        assertTrue(duals > 0);
+    }
+
+    // Dual lookups with BPMX should keep IDA* optimal with fewer nodes
+    @Test
+    public void idaStar_with_dual_lookups_and_bpmx_should_stay_optimal() {
+        PatternDatabase pdb = PatternDatabase.build(TEST_PARTITION);
+        DualHeuristic dual = new DualHeuristic(pdb);
+        IDAStar plain = new IDAStar(pdb);
+        IDAStar withoutBpmx = new IDAStar(dual);
+        IDAStar recursive = new IDAStar(dual).setBpmx(true);
+        IDAStar iterative = new IDAStar(dual).setBpmx(true).setIterative(true);
+
+        long nodes = 0, bpmxNodes = 0;
+        for (var testCase : solvableTestCases) {
+            long board = PackedBoard.pack(testCase);
+            SolveResult expected = plain.search(testCase);
+            SolveResult result = recursive.search(testCase);
+            assertTrue(dual.estimate(board) >= pdb.estimate(board));
+            assertArrayEquals(GOAL, Helper.testSolution(testCase, result.getMoves()));
+            assertEquals(expected.getMoves().length(), result.getMoves().length());
+
+            SolveResult same = iterative.search(testCase);
+            assertEquals(result.getMoves(), same.getMoves());
+            assertEquals(result.getNodesExpanded(), same.getNodesExpanded());
+
+            nodes += withoutBpmx.search(testCase).getNodesExpanded();
+            bpmxNodes += result.getNodesExpanded();
+        }
+        assertTrue(bpmxNodes <= nodes);
+    }
+
+    // Ordered children should keep IDA* optimal and end the last iteration sooner
+    @Test
+    public void idaStar_child_ordering_should_stay_optimal_and_end_the_last_iteration_sooner() {
+        IDAStar fixed = new IDAStar(new LinearConflictHeuristic());
+        long fixedNodes = 0;
+        for (var testCase : solvableTestCases) {
+            fixedNodes += fixed.search(testCase).getNodesExpanded();
+        }
+
+        for (IDAStar.Ordering ordering : new IDAStar.Ordering[]{IDAStar.Ordering.HEURISTIC, IDAStar.Ordering.HISTORY}) {
+            IDAStar recursive = new IDAStar(new LinearConflictHeuristic()).setOrdering(ordering);
+            IDAStar iterative = new IDAStar(new LinearConflictHeuristic()).setOrdering(ordering).setIterative(true);
+            long nodes = 0;
+            for (var testCase : solvableTestCases) {
+                SolveResult result = recursive.search(testCase);
+                assertArrayEquals(GOAL, Helper.testSolution(testCase, result.getMoves()));
+                assertEquals(fixed.solve(testCase).length(), result.getMoves().length());
+
+                SolveResult same = iterative.search(testCase);
+                assertEquals(result.getMoves(), same.getMoves());
+                assertEquals(result.getNodesExpanded(), same.getNodesExpanded());
+                nodes += result.getNodesExpanded();
+            }
+            assertTrue(nodes < fixedNodes);
+        }
+    }
+
+    // Settings changed after a solve should apply to the next solve on the same thread
+    @Test
+    public void idaStar_should_apply_settings_changed_after_a_solve() {
+        int[][] puzzle = solvableTestCases[0];
+        IDAStar solver = new IDAStar();
+        long plain = solver.search(puzzle).getNodesExpanded();
+
+        solver.setTranspositionTable(32 << 20, TranspositionTable.Policy.DEPTH_PREFERRED, 0);
+        long cached = new IDAStar().setTranspositionTable(32 << 20, TranspositionTable.Policy.DEPTH_PREFERRED, 0)
+                .search(puzzle).getNodesExpanded();
+        assertTrue(cached < plain);
+        assertEquals(cached, solver.search(puzzle).getNodesExpanded());
+
+        solver.setTranspositionTable(0, TranspositionTable.Policy.DEPTH_PREFERRED);
+        assertEquals(plain, solver.search(puzzle).getNodesExpanded());
+
+        PerimeterDatabase perimeter = PerimeterDatabase.build(10);
+        solver.setPerimeter(perimeter);
+        assertEquals(new IDAStar().setPerimeter(perimeter).search(puzzle).getNodesExpanded(),
+                solver.search(puzzle).getNodesExpanded());
+        solver.setPerimeter(null);
+        assertEquals(plain, solver.search(puzzle).getNodesExpanded());
+
+        DualHeuristic dual = new DualHeuristic(PatternDatabase.build(TEST_PARTITION));
+        IDAStar dualSolver = new IDAStar(dual);
+        long withoutBpmx = dualSolver.search(puzzle).getNodesExpanded();
+        dualSolver.setBpmx(true);
+        long bpmx = new IDAStar(dual).setBpmx(true).search(puzzle).getNodesExpanded();
+        assertTrue(bpmx < withoutBpmx);
+        assertEquals(bpmx, dualSolver.search(puzzle).getNodesExpanded());
+        dualSolver.setBpmx(false);
+        assertEquals(withoutBpmx, dualSolver.search(puzzle).getNodesExpanded());
+
+        solver.setOrdering(IDAStar.Ordering.HISTORY);
+        long history = new IDAStar().setOrdering(IDAStar.Ordering.HISTORY).search(puzzle).getNodesExpanded();
+        assertTrue(history != plain);
+        assertEquals(history, solver.search(puzzle).getNodesExpanded());
+        solver.setOrdering(IDAStar.Ordering.FIXED);
+        assertEquals(plain, solver.search(puzzle).getNodesExpanded());
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Walking distance heuristic.
+ * Vertically, a board is abstracted to a 4x4 matrix counting, for each row, how many of its tiles
+ * belong to each goal row, plus the row of the blank. The exact number of vertical moves needed to
+ * solve that abstraction is precomputed by a breadth-first search (24,964 states); horizontal moves
+ * use the same table on the transposed abstraction (columns / goal columns), and the two are added.
+ * Optionally the result is maxed with the linear conflict heuristic.
+ */
+public class WalkingDistanceHeuristic implements Heuristic {
+    // Each matrix cell is a count 0..4 stored in 3 bits; the blank line sits above the 16 cells
+    private static final int CELL_BITS = 3;
+    private static final int BLANK_SHIFT = PackedBoard.SIZE * CELL_BITS;
+
+    // Moves needed for every reachable abstract state, keyed by its encoding
+    private static final LongIntHashMap DISTANCES = buildTable();
+
+    // Linear conflict heuristic used for the optional max, or null
+    private final LinearConflictHeuristic linearConflict;
+
+    // Create a walking distance heuristic
+    public WalkingDistanceHeuristic() {
+        this(false);
+    }
+
+    // Create a walking distance heuristic, optionally maxed with linear conflict
+    public WalkingDistanceHeuristic(boolean maxWithLinearConflict) {
+        linearConflict = maxWithLinearConflict ? new LinearConflictHeuristic() : null;
+    }
+
+    public int estimate(long board) {
+        long rows = 0;
+        long columns = 0;
+        for (int position = 0; position < PackedBoard.SIZE; position++) {
+            int tile = PackedBoard.get(board, position);
+            int row = position / PackedBoard.N;
+            int column = position % PackedBoard.N;
+            if (tile == 0) {
+                rows |= (long) row << BLANK_SHIFT;
+                columns |= (long) column << BLANK_SHIFT;
+            } else {
+                rows += unit(row, (tile - 1) / PackedBoard.N);
+                columns += unit(column, (tile - 1) % PackedBoard.N);
+            }
+        }
+
+        int distance = DISTANCES.get(rows, 0) + DISTANCES.get(columns, 0);
+        return linearConflict == null ? distance : Math.max(distance, linearConflict.estimate(board));
+    }
+
+    // Number of abstract states in the table (for tests and tooling)
+    static int tableSize() {
+        return DISTANCES.size();
+    }
+
+    // Encoding of one tile in line "line" whose goal line is "goal"
+    private static long unit(int line, int goal) {
+        return 1L << ((line * PackedBoard.N + goal) * CELL_BITS);
+    }
+
+    // Count of tiles in line "line" whose goal line is "goal"
+    private static int count(long code, int line, int goal) {
+        return (int) (code >>> ((line * PackedBoard.N + goal) * CELL_BITS)) & 0x7;
+    }
+
+    // Breadth-first search over the abstract states backwards from the goal abstraction
+    private static LongIntHashMap buildTable() {
+        long goal = (long) (PackedBoard.N - 1) << BLANK_SHIFT;
+        for (int line = 0; line < PackedBoard.N; line++) {
+            int tiles = line == PackedBoard.N - 1 ? PackedBoard.N - 1 : PackedBoard.N;
+            goal += tiles * unit(line, line);
+        }
+
+        LongIntHashMap distances = new LongIntHashMap(1 << 15);
+        long[] queue = new long[1 << 15];
+        int head = 0;
+        int tail = 0;
+        distances.put(goal, 0);
+        queue[tail++] = goal;
+
+        long cellsMask = (1L << BLANK_SHIFT) - 1;
+        while (head < tail) {
+            long code = queue[head++];
+            int distance = distances.get(code, 0);
+            int blank = (int) (code >>> BLANK_SHIFT);
+
+            // The blank swaps with any tile of an adjacent line; only the goal line of that tile matters
+            for (int next = blank - 1; next <= blank + 1; next += 2) {
+                if (next < 0 || next >= PackedBoard.N) continue;
+                for (int goalLine = 0; goalLine < PackedBoard.N; goalLine++) {
+                    if (count(code, next, goalLine) == 0) continue;
+
+                    long cells = (code & cellsMask) - unit(next, goalLine) + unit(blank, goalLine);
+                    long neighbour = cells | ((long) next << BLANK_SHIFT);
+                    if (distances.containsKey(neighbour)) continue;
+
+                    distances.put(neighbour, distance + 1);
+                    if (tail == queue.length) queue = java.util.Arrays.copyOf(queue, queue.length * 2);
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+
+        return distances;
+    }
+}